@@ -12,8 +12,17 @@ export function getDashboardStockUpdates(clientMessage: string, onUpdate: (data:
         onConnect: () => {
             console.log("Connected to WebSocket server");
 
+            // ticks at or below the snapshot's sequence are already part of it
+            let lastSequence = -1;
+
             client.subscribe("/topic/dashboard", message => {
                 try {
+                    const sequence = Number(message.headers["x-sequence"]);
+                    if (sequence <= lastSequence) {
+                        return;
+                    }
+                    lastSequence = sequence;
+
                     const data = JSON.parse(message.body);
                     console.log("Stock update received:", data);
 
@@ -24,10 +33,14 @@ export function getDashboardStockUpdates(clientMessage: string, onUpdate: (data:
                 }
             });
 
-            client.publish({
-                destination: "/app/subscribe/dashboard",
-                body: JSON.stringify(clientMessage),
-            })
+            // replies once, to this subscription only, with the current day stats
+            client.subscribe("/app/subscribe/dashboard", message => {
+                const snapshot = JSON.parse(message.body);
+                if (snapshot.sequence > lastSequence) {
+                    lastSequence = snapshot.sequence;
+                    onUpdate(snapshot);
+                }
+            });
         },
         onStompError: error => {
             console.error("STOMP error:", error);
@@ -0,0 +1,143 @@
+package com.johnsoncskoo.stockx.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis value serializer that writes registered types with their {@link ValueCodec} and
+ * everything else as JSON tagged with its class name.
+ * <p>
+ * Layouts, by first byte:
+ * <ul>
+ *     <li>{@code 0xB1 typeId version payload} for codec values</li>
+ *     <li>{@code 0xB2 nameLength name json} for the JSON fallback</li>
+ *     <li>{@code 0xAC 0xED ...} values written by the JDK serializer before this one was
+ *     introduced, still read until they expire</li>
+ * </ul>
+ * A value whose codec, version or class is unknown reads as null, i.e. a cache miss.
+ */
+@Slf4j
+@Component
+public class CodecRedisSerializer implements RedisSerializer<Object> {
+    static final byte BINARY = (byte) 0xB1;
+    static final byte JSON = (byte) 0xB2;
+    private static final byte JDK_MAGIC_0 = (byte) 0xAC;
+    private static final byte JDK_MAGIC_1 = (byte) 0xED;
+    private static final int HEADER_SIZE = 3;
+
+    // JSON values only ever resolve to these packages
+    private static final List<String> JSON_PACKAGES = List.of(
+            "com.johnsoncskoo.stockx.", "java.lang.", "java.util.", "java.math.", "java.time.");
+
+    private final Map<Class<?>, ValueCodec<?>> codecsByType = new HashMap<>();
+    private final ValueCodec<?>[] codecsById = new ValueCodec<?>[256];
+    private final ObjectMapper objectMapper;
+    private final JdkSerializationRedisSerializer legacy = new JdkSerializationRedisSerializer();
+
+    public CodecRedisSerializer(List<ValueCodec<?>> codecs, ObjectMapper objectMapper) {
+        for (var codec : codecs) {
+            var id = codec.typeId() & 0xFF;
+            if (codecsById[id] != null) {
+                throw new IllegalStateException("Codecs " + codecsById[id].getClass().getSimpleName() + " and "
+                        + codec.getClass().getSimpleName() + " share type id " + id);
+            }
+            codecsById[id] = codec;
+            codecsByType.put(codec.type(), codec);
+        }
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        var codec = codecsByType.get(value.getClass());
+        if (codec != null) {
+            return encode(codec, value);
+        }
+
+        try {
+            var name = value.getClass().getName().getBytes(StandardCharsets.UTF_8);
+            var json = objectMapper.writeValueAsBytes(value);
+            return ByteBuffer.allocate(3 + name.length + json.length)
+                    .put(JSON)
+                    .putShort((short) name.length)
+                    .put(name)
+                    .put(json)
+                    .array();
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        return switch (bytes[0]) {
+            case BINARY -> decode(bytes);
+            case JSON -> decodeJson(bytes);
+            case JDK_MAGIC_0 -> bytes.length > 1 && bytes[1] == JDK_MAGIC_1 ? legacy.deserialize(bytes) : null;
+            default -> null;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> byte[] encode(ValueCodec<T> codec, Object value) {
+        var typed = (T) value;
+        var out = ByteBuffer.allocate(HEADER_SIZE + codec.size(typed))
+                .put(BINARY)
+                .put(codec.typeId())
+                .put(codec.version());
+        codec.write(typed, out);
+        return out.array();
+    }
+
+    private Object decode(byte[] bytes) {
+        if (bytes.length < HEADER_SIZE) {
+            return null;
+        }
+        var codec = codecsById[bytes[1] & 0xFF];
+        if (codec == null) {
+            log.debug("No codec registered for type id {}", bytes[1] & 0xFF);
+            return null;
+        }
+        return codec.read(bytes[2], ByteBuffer.wrap(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE));
+    }
+
+    private Object decodeJson(byte[] bytes) {
+        var in = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        var nameLength = Short.toUnsignedInt(in.getShort());
+        var name = new String(bytes, in.position(), nameLength, StandardCharsets.UTF_8);
+        if (JSON_PACKAGES.stream().noneMatch(name::startsWith)) {
+            log.warn("Refusing to read Redis value of type {}", name);
+            return null;
+        }
+
+        var offset = in.position() + nameLength;
+        try {
+            var type = Class.forName(name, false, getClass().getClassLoader());
+            return objectMapper.readValue(bytes, offset, bytes.length - offset, type);
+        } catch (ClassNotFoundException e) {
+            log.debug("Unknown Redis value type {}", name);
+            return null;
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deserialize " + name, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.johnsoncskoo.stockx.codec;
+
+import com.johnsoncskoo.stockx.dto.StockPriceHistoryCache;
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+/**
+ * Version 1: scaled price change, scaled latest price, movement count and ticks elapsed,
+ * 24 bytes in total. A missing price is written as {@link Long#MIN_VALUE}.
+ */
+@Component
+public class StockPriceHistoryCacheCodec implements ValueCodec<StockPriceHistoryCache> {
+    private static final byte TYPE_ID = 1;
+    private static final byte VERSION = 1;
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    @Override
+    public Class<StockPriceHistoryCache> type() {
+        return StockPriceHistoryCache.class;
+    }
+
+    @Override
+    public byte typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public byte version() {
+        return VERSION;
+    }
+
+    @Override
+    public int size(StockPriceHistoryCache value) {
+        return 2 * Long.BYTES + 2 * Integer.BYTES;
+    }
+
+    @Override
+    public void write(StockPriceHistoryCache value, ByteBuffer out) {
+        out.putLong(toScaled(value.getPriceChange()));
+        out.putLong(toScaled(value.getLatestPrice()));
+        out.putInt(value.getMovementCount());
+        out.putInt(value.getTicksElapsed());
+    }
+
+    @Override
+    public StockPriceHistoryCache read(byte version, ByteBuffer in) {
+        if (version != VERSION) {
+            return null;
+        }
+        return StockPriceHistoryCache.builder()
+                .priceChange(toBigDecimal(in.getLong()))
+                .latestPrice(toBigDecimal(in.getLong()))
+                .movementCount(in.getInt())
+                .ticksElapsed(in.getInt())
+                .build();
+    }
+
+    private static long toScaled(BigDecimal value) {
+        return value == null ? NO_PRICE : FixedPoint.toScaled(value);
+    }
+
+    private static BigDecimal toBigDecimal(long scaled) {
+        return scaled == NO_PRICE ? null : FixedPoint.toBigDecimal(scaled);
+    }
+}
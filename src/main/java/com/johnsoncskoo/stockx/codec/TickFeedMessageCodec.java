@@ -0,0 +1,79 @@
+package com.johnsoncskoo.stockx.codec;
+
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import com.johnsoncskoo.stockx.engine.TickFeedMessage;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Version 1: epoch, sequence, publish time, the batch time as UTC seconds and nanos, and a
+ * count, followed by id, price, price change and volume per stock. 40 bytes plus 32 per stock.
+ */
+@Component
+public class TickFeedMessageCodec implements ValueCodec<TickFeedMessage> {
+    private static final byte TYPE_ID = 2;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Long.BYTES + 2 * Integer.BYTES;
+    private static final int RECORD_SIZE = 4 * Long.BYTES;
+
+    @Override
+    public Class<TickFeedMessage> type() {
+        return TickFeedMessage.class;
+    }
+
+    @Override
+    public byte typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public byte version() {
+        return VERSION;
+    }
+
+    @Override
+    public int size(TickFeedMessage value) {
+        return HEADER_SIZE + value.batch().size() * RECORD_SIZE;
+    }
+
+    @Override
+    public void write(TickFeedMessage value, ByteBuffer out) {
+        var batch = value.batch();
+        out.putLong(value.epoch());
+        out.putLong(value.sequence());
+        out.putLong(value.publishedAt());
+        out.putLong(batch.getTime().toEpochSecond(ZoneOffset.UTC));
+        out.putInt(batch.getTime().getNano());
+        out.putInt(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            out.putLong(batch.getStockIds()[i]);
+            out.putLong(batch.getPrices()[i]);
+            out.putLong(batch.getPriceChanges()[i]);
+            out.putLong(batch.getVolumes()[i]);
+        }
+    }
+
+    @Override
+    public TickFeedMessage read(byte version, ByteBuffer in) {
+        if (version != VERSION) {
+            return null;
+        }
+        var epoch = in.getLong();
+        var sequence = in.getLong();
+        var publishedAt = in.getLong();
+        var seconds = in.getLong();
+        var time = LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+
+        var batch = new TickBatch(time, in.getInt());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.getStockIds()[i] = in.getLong();
+            batch.getPrices()[i] = in.getLong();
+            batch.getPriceChanges()[i] = in.getLong();
+            batch.getVolumes()[i] = in.getLong();
+        }
+        return new TickFeedMessage(epoch, sequence, publishedAt, batch);
+    }
+}
@@ -0,0 +1,36 @@
+package com.johnsoncskoo.stockx.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Hand-written binary layout for one value type stored in Redis. Every encoded value is
+ * prefixed with the codec's {@link #typeId()} and {@link #version()}, so a codec can change
+ * its layout and keep reading values written by older versions.
+ */
+public interface ValueCodec<T> {
+
+    Class<T> type();
+
+    /**
+     * Identifies the type on the wire; must be unique among registered codecs and never reused.
+     */
+    byte typeId();
+
+    /**
+     * Layout version written with every value.
+     */
+    byte version();
+
+    /**
+     * Exact number of bytes {@link #write} will produce for {@code value}.
+     */
+    int size(T value);
+
+    void write(T value, ByteBuffer out);
+
+    /**
+     * Reads a value written with the given layout version, returning null if that version
+     * is no longer understood.
+     */
+    T read(byte version, ByteBuffer in);
+}
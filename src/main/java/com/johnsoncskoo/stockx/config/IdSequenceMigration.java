@@ -0,0 +1,53 @@
+package com.johnsoncskoo.stockx.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves tables that used identity columns onto the pooled id sequences. Runs before JPA
+ * starts (see {@link JpaConfig}) so Hibernate finds sequences whose increment matches the
+ * configured allocation size. Safe to run on every startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceMigration {
+    // table -> sequence backing its id
+    static final Map<String, String> SEQUENCES = Map.of(
+            "orders", "orders_seq",
+            "portfolios", "portfolios_seq",
+            "positions", "positions_seq",
+            "users", "users_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockxProperties properties;
+
+    @PostConstruct
+    public void migrate() {
+        var allocationSize = properties.getId().getAllocationSize();
+        SEQUENCES.forEach((table, sequence) -> {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence +
+                    " START WITH 1 INCREMENT BY " + allocationSize);
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + allocationSize);
+
+            var exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+            if (!Boolean.TRUE.equals(exists)) {
+                return;
+            }
+
+            // ids now come from the sequence; an identity column would hand out colliding values
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+            // the pooled optimizer hands out (value - allocationSize, value], so the sequence
+            // must sit at or above the highest existing id
+            jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST(" +
+                    "(SELECT COALESCE(MAX(id), 1) FROM " + table + "), " +
+                    "(SELECT last_value FROM " + sequence + ")))", Long.class);
+        });
+        log.info("Id sequences ready with allocation size {}", allocationSize);
+    }
+}
@@ -0,0 +1,22 @@
+package com.johnsoncskoo.stockx.config;
+
+import com.johnsoncskoo.stockx.model.PooledSequenceGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor idSequenceMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(IdSequenceMigration.class);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(StockxProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(
+                PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, properties.getId().getAllocationSize());
+    }
+}
@@ -0,0 +1,56 @@
+package com.johnsoncskoo.stockx.config;
+
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP sessions are kept in Redis for opaque tokens. Signed tokens carry everything the
+ * request path needs, so in that mode the (unused, since security is stateless) session
+ * store stays local and no node has to reach Redis to authenticate a request. Single-node
+ * deployments have no Redis and always keep sessions locally.
+ */
+@Configuration
+public class SessionConfig {
+
+    @Configuration
+    @EnableRedisHttpSession
+    @Profile("!single-node")
+    @ConditionalOnProperty(prefix = "stockx.auth", name = "mode", havingValue = "opaque", matchIfMissing = true)
+    static class RedisSessionConfig {
+    }
+
+    @Configuration
+    @EnableSpringHttpSession
+    @Conditional(LocalSessionCondition.class)
+    static class LocalSessionConfig {
+
+        @Bean
+        public MapSessionRepository sessionRepository() {
+            return new MapSessionRepository(new ConcurrentHashMap<>());
+        }
+    }
+
+    static class LocalSessionCondition extends AnyNestedCondition {
+
+        LocalSessionCondition() {
+            super(ConfigurationPhase.PARSE_CONFIGURATION);
+        }
+
+        @ConditionalOnProperty(prefix = "stockx.auth", name = "mode", havingValue = TokenSigner.MODE_SIGNED)
+        static class SignedTokens {
+        }
+
+        @Profile("single-node")
+        static class SingleNode {
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.johnsoncskoo.stockx.config;
+
+import com.johnsoncskoo.stockx.model.PooledSequenceGenerator;
+import com.johnsoncskoo.stockx.worker.BackpressurePolicy;
+import com.johnsoncskoo.stockx.worker.OverrunPolicy;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.validator.constraints.time.DurationMax;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "stockx")
+public class StockxProperties {
+
+    @Valid
+    private Tick tick = new Tick();
+
+    @Valid
+    private History history = new History();
+
+    @Valid
+    private Execution execution = new Execution();
+
+    @Valid
+    private Id id = new Id();
+
+    @Valid
+    private Ledger ledger = new Ledger();
+
+    @Valid
+    private Auth auth = new Auth();
+
+    @Valid
+    private Publish publish = new Publish();
+
+    @Valid
+    private Cluster cluster = new Cluster();
+
+    @Valid
+    private Websocket websocket = new Websocket();
+
+    @Getter
+    @Setter
+    public static class Tick {
+        // sub-second periods down to 50 ms are supported; the default keeps the original 5 s cadence
+        @NotNull
+        @DurationMin(millis = 50)
+        @DurationMax(seconds = 5)
+        private Duration period = Duration.ofSeconds(5);
+
+        @NotNull
+        private OverrunPolicy overrunPolicy = OverrunPolicy.SKIP;
+
+        // where per-stock random walk state lives between ticks: "memory" or "redis"
+        private String stateStore = "memory";
+
+        // how often the in-memory tick state is written behind to Redis
+        private Duration snapshotInterval = Duration.ofSeconds(30);
+
+        private Duration stateTtl = Duration.ofHours(1);
+
+        // number of threads stocks are partitioned across when generating a tick
+        private int shards = 1;
+
+        // master seed for price generation; random when unset
+        private Long seed;
+    }
+
+    @Getter
+    @Setter
+    public static class History {
+        // ticks that can wait for the price history writer before backpressure applies
+        @Min(1)
+        private int queueCapacity = 256;
+
+        // rows written per COPY once this many are pending
+        @Min(1)
+        private int flushSize = 50_000;
+
+        @NotNull
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        @NotNull
+        private BackpressurePolicy backpressure = BackpressurePolicy.BLOCK;
+
+        private String spillDirectory = System.getProperty("java.io.tmpdir") + "/stockx-history-spill";
+    }
+
+    @Getter
+    @Setter
+    public static class Execution {
+        // single-threaded lanes that portfolios are hashed onto for order fills
+        @Min(1)
+        private int lanes = Runtime.getRuntime().availableProcessors();
+
+        // fills that can wait on one lane before submitters block
+        @Min(1)
+        private int queueCapacity = 1024;
+
+        // triggered fills written per settlement transaction
+        @Min(1)
+        private int settlementBatchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Id {
+        // ids reserved per sequence call; changing it re-aligns the sequences on next startup
+        @Min(1)
+        private int allocationSize = PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE;
+    }
+
+    @Getter
+    @Setter
+    public static class Ledger {
+        // how often portfolios with new ledger entries are snapshotted
+        @NotNull
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Auth {
+        // validated tokens kept in memory; entries also expire with the user's session
+        @Min(1)
+        private long tokenCacheSize = 100_000;
+
+        @NotNull
+        private Duration tokenCacheTtl = Duration.ofMinutes(5);
+
+        // unknown or expired tokens are remembered this long, so repeated bad tokens skip the database
+        @NotNull
+        private Duration tokenCacheNegativeTtl = Duration.ofSeconds(10);
+
+        // "opaque" tokens are looked up in the users table; "signed" tokens are verified by HMAC alone
+        private String mode = "opaque";
+
+        // HMAC key for signed tokens, at least 32 bytes; every node must share it
+        private String tokenSecret;
+
+        // revoked signed tokens remembered until they expire
+        @Min(1)
+        private long revocationListSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Publish {
+        // price updates are conflated over this window before being broadcast; zero sends every tick
+        @NotNull
+        private Duration window = Duration.ZERO;
+    }
+
+    @Getter
+    @Setter
+    public static class Cluster {
+        // ticks are shared over Redis pub/sub so several nodes can serve WebSocket clients
+        private boolean enabled = false;
+
+        // exactly one node generates ticks, triggers orders and writes history; the rest follow its feed
+        private boolean generator = true;
+
+        // identifies this node in metrics; random when unset
+        private String nodeId;
+
+        @NotNull
+        private String tickChannel = "stockx:ticks";
+
+        @NotNull
+        private String orderChannel = "stockx:orders";
+
+        @NotNull
+        private String revocationChannel = "stockx:revocations";
+
+        // ticks a follower can buffer before the oldest are dropped
+        @Min(1)
+        private int feedCapacity = 64;
+
+        public boolean isGeneratorNode() {
+            return !enabled || generator;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Websocket {
+        @NotNull
+        private DataSize messageSizeLimit = DataSize.ofKilobytes(128);
+
+        // bytes queued for one session before its updates are conflated to the latest value
+        @NotNull
+        private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+
+        // a session whose connection accepts nothing for this long is closed
+        @NotNull
+        private Duration sendTimeLimit = Duration.ofSeconds(20);
+    }
+}
@@ -37,6 +37,52 @@ public class TimescaleInitService {
                 "ALTER TABLE stock_price_history SET (timescaledb.compress, " +
                         "timescaledb.compress_segmentby = 'stock_id');"
         ).executeUpdate();
+
+        // Append-only portfolio ledger, partitioned by time
+        entityManager.createNativeQuery(
+                "CREATE SEQUENCE IF NOT EXISTS ledger_entries_seq;"
+        ).executeUpdate();
+
+        entityManager.createNativeQuery(
+                "CREATE TABLE IF NOT EXISTS ledger_entries (" +
+                        "sequence BIGINT NOT NULL, " +
+                        "time TIMESTAMPTZ NOT NULL, " +
+                        "portfolio_id BIGINT NOT NULL, " +
+                        "order_id BIGINT, " +
+                        "stock_id BIGINT, " +
+                        "type SMALLINT NOT NULL, " +
+                        "quantity INT NOT NULL, " +
+                        "price DOUBLE PRECISION NOT NULL, " +
+                        "cash_delta DOUBLE PRECISION NOT NULL" +
+                        ");"
+        ).executeUpdate();
+
+        entityManager.createNativeQuery(
+                "SELECT create_hypertable('ledger_entries', 'time', if_not_exists => TRUE);"
+        ).getSingleResult();
+
+        entityManager.createNativeQuery(
+                "CREATE INDEX IF NOT EXISTS ledger_entries_portfolio_idx " +
+                        "ON ledger_entries (portfolio_id, sequence);"
+        ).executeUpdate();
+
+        entityManager.createNativeQuery(
+                "CREATE INDEX IF NOT EXISTS ledger_entries_sequence_idx ON ledger_entries (sequence);"
+        ).executeUpdate();
+
+        // Compact portfolio state as of a ledger sequence; positions are parallel arrays
+        entityManager.createNativeQuery(
+                "CREATE TABLE IF NOT EXISTS portfolio_snapshots (" +
+                        "portfolio_id BIGINT NOT NULL, " +
+                        "time TIMESTAMPTZ NOT NULL, " +
+                        "last_sequence BIGINT NOT NULL, " +
+                        "balance DOUBLE PRECISION NOT NULL, " +
+                        "stock_ids BIGINT[] NOT NULL, " +
+                        "quantities INT[] NOT NULL, " +
+                        "average_costs DOUBLE PRECISION[] NOT NULL, " +
+                        "PRIMARY KEY (portfolio_id, last_sequence)" +
+                        ");"
+        ).executeUpdate();
     }
 
     public void createAggregates() {
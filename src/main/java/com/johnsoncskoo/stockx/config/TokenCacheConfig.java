@@ -0,0 +1,66 @@
+package com.johnsoncskoo.stockx.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.johnsoncskoo.stockx.dto.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Configuration
+public class TokenCacheConfig {
+    /**
+     * Cached in place of a user for tokens that match no valid session; compared by identity.
+     */
+    public static final UserResponse UNKNOWN_TOKEN = new UserResponse();
+
+    /**
+     * Validated users by token. An entry lives for the configured TTL or until the user's
+     * session expires, whichever comes first; {@link #UNKNOWN_TOKEN} entries live for the
+     * shorter negative TTL. Hit and miss counts are published as {@code cache.gets{cache=tokens}}.
+     */
+    @Bean
+    public Cache<String, UserResponse> tokenCache(StockxProperties properties, MeterRegistry meterRegistry) {
+        var auth = properties.getAuth();
+        var ttl = auth.getTokenCacheTtl();
+        var negativeTtl = auth.getTokenCacheNegativeTtl();
+
+        Cache<String, UserResponse> cache = Caffeine.newBuilder()
+                .maximumSize(auth.getTokenCacheSize())
+                .expireAfter(new Expiry<String, UserResponse>() {
+                    @Override
+                    public long expireAfterCreate(String token, UserResponse user, long currentTime) {
+                        return timeToLive(user, ttl, negativeTtl);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, UserResponse user, long currentTime, long currentDuration) {
+                        return timeToLive(user, ttl, negativeTtl);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, UserResponse user, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "tokens");
+    }
+
+    private static long timeToLive(UserResponse user, Duration ttl, Duration negativeTtl) {
+        if (user == UNKNOWN_TOKEN) {
+            return negativeTtl.toNanos();
+        }
+        if (user.getExpiresAt() == null) {
+            return ttl.toNanos();
+        }
+        var untilExpiry = Duration.between(LocalDateTime.now(), user.getExpiresAt());
+        return untilExpiry.compareTo(ttl) < 0 ? Math.max(0, untilExpiry.toNanos()) : ttl.toNanos();
+    }
+}
@@ -0,0 +1,133 @@
+package com.johnsoncskoo.stockx.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.johnsoncskoo.stockx.dto.UserResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Issues and verifies self-contained session tokens when {@code stockx.auth.mode} is
+ * {@code signed}. A token is {@code base64url(id:expiresAt:username).base64url(hmac)}, so it
+ * can be checked without Redis or Postgres. Revoked tokens are remembered in memory until
+ * they would have expired anyway; {@code TokenRevocationRelay} shares revocations between nodes.
+ */
+@Slf4j
+@Component
+public class TokenSigner {
+
+    public static final String MODE_SIGNED = "signed";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final Cache<String, LocalDateTime> revoked;
+
+    public TokenSigner(StockxProperties properties) {
+        var auth = properties.getAuth();
+        this.enabled = MODE_SIGNED.equalsIgnoreCase(auth.getMode());
+
+        var secret = auth.getTokenSecret() == null ? new byte[0] : auth.getTokenSecret().getBytes(StandardCharsets.UTF_8);
+        if (enabled && secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("stockx.auth.token-secret must be at least " + MIN_SECRET_BYTES
+                    + " bytes when stockx.auth.mode is signed");
+        }
+        this.key = enabled ? new SecretKeySpec(secret, ALGORITHM) : null;
+
+        this.revoked = Caffeine.newBuilder()
+                .maximumSize(auth.getRevocationListSize())
+                .expireAfter(new Expiry<String, LocalDateTime>() {
+                    @Override
+                    public long expireAfterCreate(String signature, LocalDateTime expiresAt, long currentTime) {
+                        return Math.max(0, Duration.between(LocalDateTime.now(), expiresAt).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String signature, LocalDateTime expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String signature, LocalDateTime expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String sign(long userId, String username, LocalDateTime expiresAt) {
+        var payload = userId + ":" + expiresAt.toEpochSecond(ZoneOffset.UTC) + ":" + username;
+        var encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + ENCODER.encodeToString(mac(encodedPayload));
+    }
+
+    /**
+     * Returns the user the token was issued to, or null if the signature does not match,
+     * the token has expired or it has been revoked.
+     */
+    public UserResponse verify(String token) {
+        var dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+
+        var encodedPayload = token.substring(0, dot);
+        var signature = token.substring(dot + 1);
+        try {
+            if (!MessageDigest.isEqual(mac(encodedPayload), DECODER.decode(signature))) {
+                return null;
+            }
+
+            var claims = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split(":", 3);
+            if (claims.length != 3) {
+                return null;
+            }
+            var expiresAt = LocalDateTime.ofEpochSecond(Long.parseLong(claims[1]), 0, ZoneOffset.UTC);
+            if (expiresAt.isBefore(LocalDateTime.now()) || revoked.getIfPresent(signature) != null) {
+                return null;
+            }
+            return new UserResponse(Long.parseLong(claims[0]), claims[2], token, expiresAt);
+        } catch (IllegalArgumentException e) {
+            // malformed base64 or number
+            return null;
+        }
+    }
+
+    public void revoke(String token) {
+        var user = verify(token);
+        if (user == null) {
+            return;
+        }
+        revoked.put(token.substring(token.indexOf('.') + 1), user.getExpiresAt());
+        log.debug("Revoked signed token for user {}", user.getId());
+    }
+
+    private byte[] mac(String encodedPayload) {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign token", e);
+        }
+    }
+}
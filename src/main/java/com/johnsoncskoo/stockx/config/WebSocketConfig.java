@@ -1,11 +1,15 @@
 package com.johnsoncskoo.stockx.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.johnsoncskoo.stockx.messaging.SessionConflation;
+import com.johnsoncskoo.stockx.messaging.WireFormatInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.messaging.converter.DefaultContentTypeResolver;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
 import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
@@ -19,7 +23,12 @@ import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final WireFormatInterceptor wireFormatInterceptor;
+    private final SessionConflation sessionConflation;
+    private final StockxProperties properties;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
@@ -28,17 +37,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // SockJS clients use /ws; native WebSocket clients, which can receive binary frames, /ws/websocket
         registry.addEndpoint("/ws")
                 .setAllowedOrigins("*")
                 .withSockJS();
     }
 
-//    @Override
-//    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
-//        registration.setMessageSizeLimit(128 * 1024);
-//        registration.setSendBufferSizeLimit(512 * 1024);
-//        registration.setSendTimeLimit(20000);
-//    }
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(wireFormatInterceptor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        var websocket = properties.getWebsocket();
+        registration.setMessageSizeLimit(Math.toIntExact(websocket.getMessageSizeLimit().toBytes()));
+        // sends only queue into the conflating session, so these limits are a backstop
+        registration.setSendBufferSizeLimit(Math.toIntExact(websocket.getSendBufferSizeLimit().toBytes()));
+        registration.setSendTimeLimit(Math.toIntExact(websocket.getSendTimeLimit().toMillis()));
+        registration.addDecoratorFactory(sessionConflation);
+    }
 //
 //    @Override
 //    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
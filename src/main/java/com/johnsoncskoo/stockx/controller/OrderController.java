@@ -1,5 +1,6 @@
 package com.johnsoncskoo.stockx.controller;
 
+import com.johnsoncskoo.stockx.dto.FillResponse;
 import com.johnsoncskoo.stockx.dto.OrderRequest;
 import com.johnsoncskoo.stockx.dto.OrderResponse;
 import com.johnsoncskoo.stockx.service.TradeService;
@@ -46,4 +47,15 @@ public class OrderController {
         var orders = tradeService.getOrders(token, pageable, filter);
         return ResponseEntity.ok(orders);
     }
+
+    @GetMapping("/fills")
+    public ResponseEntity<Page<FillResponse>> getFills(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        var token = (String) request.getAttribute("user-token");
+
+        var fills = tradeService.getFills(token, PageRequest.of(page, size));
+        return ResponseEntity.ok(fills);
+    }
 }
@@ -1,30 +1,34 @@
 package com.johnsoncskoo.stockx.controller;
 
+import com.johnsoncskoo.stockx.dto.StockSnapshotDto;
+import com.johnsoncskoo.stockx.service.StockDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
-import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
+/**
+ * Initial state for the live stock topics. Subscribing to {@code /app/subscribe/...} replies
+ * to that subscription alone with an in-memory snapshot; the matching {@code /topic/...}
+ * subscription then supplies every tick after the snapshot's sequence.
+ */
 @Controller
 @RequiredArgsConstructor
 public class StockController {
+    private final StockDataService stockDataService;
 
-    @MessageMapping("/subscribe/all")
-    @SendTo("/topic/stocks")
-    public String subscribeToStocks() {
-        return "Subscribed to all stock updates.";
+    @SubscribeMapping("/subscribe/all")
+    public StockSnapshotDto subscribeToStocks() {
+        return stockDataService.getSnapshot();
     }
 
-    @MessageMapping("/subscribe/{id}")
-    @SendTo("/topic/stock/{id}")
-    public String subscribeToStock(@DestinationVariable String id) {
-        return "Subscribed to stock ID " + id + " updates.";
+    @SubscribeMapping("/subscribe/{id}")
+    public StockSnapshotDto subscribeToStock(@DestinationVariable long id) {
+        return stockDataService.getSnapshot(id);
     }
 
-    @MessageMapping("/subscribe/dashboard")
-    @SendTo("/topic/dashboard")
-    public String subscribeToDashboardStocks() {
-        return "Subscribed to dashboard stock updates.";
+    @SubscribeMapping("/subscribe/dashboard")
+    public StockSnapshotDto subscribeToDashboardStocks() {
+        return stockDataService.getSnapshot();
     }
 }
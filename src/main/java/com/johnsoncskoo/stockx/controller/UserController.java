@@ -3,6 +3,7 @@ package com.johnsoncskoo.stockx.controller;
 import com.johnsoncskoo.stockx.dto.CreateUserRequest;
 import com.johnsoncskoo.stockx.dto.UserResponse;
 import com.johnsoncskoo.stockx.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.ObjectFactory;
@@ -37,4 +38,13 @@ public class UserController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        // only the caller's own session, as authenticated by UserAuthFilter
+        var token = (String) request.getAttribute("user-token");
+        userService.invalidateToken(token);
+
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -20,7 +20,7 @@ public class DashboardStockDto {
     private BigDecimal low;
     private BigDecimal open;
     private BigDecimal close;
-    private int volume;
+    private long volume;
     private BigDecimal price;
     private BigDecimal priceChange;
     private BigDecimal priceChangePercentage;
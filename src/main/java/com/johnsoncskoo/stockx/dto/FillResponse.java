@@ -0,0 +1,24 @@
+package com.johnsoncskoo.stockx.dto;
+
+import com.johnsoncskoo.stockx.model.OrderDirection;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One filled order as recorded in the ledger.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FillResponse {
+    private Long orderId;
+    private String symbol;
+    private OrderDirection direction;
+    private int quantity;
+    private double price;
+    private double total;
+    private LocalDateTime executedAt;
+}
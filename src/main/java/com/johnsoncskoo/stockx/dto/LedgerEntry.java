@@ -0,0 +1,51 @@
+package com.johnsoncskoo.stockx.dto;
+
+import com.johnsoncskoo.stockx.model.LedgerEntryType;
+import com.johnsoncskoo.stockx.model.Order;
+import com.johnsoncskoo.stockx.model.OrderDirection;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One immutable change to a portfolio. Deposits carry no order or stock.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntry {
+    private long portfolioId;
+    private Long orderId;
+    private Long stockId;
+    private LedgerEntryType type;
+    private int quantity;
+    private double price;
+    private double cashDelta;
+    private LocalDateTime time;
+
+    public static LedgerEntry ofFill(long portfolioId, Order order) {
+        var buy = order.getDirection() == OrderDirection.BUY;
+        var total = order.getExecutedPrice() * order.getQuantity();
+        return LedgerEntry.builder()
+                .portfolioId(portfolioId)
+                .orderId(order.getId())
+                .stockId(order.getStock().getId())
+                .type(buy ? LedgerEntryType.BUY : LedgerEntryType.SELL)
+                .quantity(order.getQuantity())
+                .price(order.getExecutedPrice())
+                .cashDelta(buy ? -total : total)
+                .time(order.getExecutedAt())
+                .build();
+    }
+
+    public static LedgerEntry ofDeposit(long portfolioId, double amount, LocalDateTime time) {
+        return LedgerEntry.builder()
+                .portfolioId(portfolioId)
+                .type(LedgerEntryType.DEPOSIT)
+                .cashDelta(amount)
+                .time(time)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.johnsoncskoo.stockx.dto;
+
+import com.johnsoncskoo.stockx.model.OrderDirection;
+import lombok.*;
+
+/**
+ * A limit order accepted by a follower node, forwarded to the generator's trigger book.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTriggerRequest {
+    private long orderId;
+    private long stockId;
+    private OrderDirection direction;
+    private long limitPrice;
+}
@@ -0,0 +1,24 @@
+package com.johnsoncskoo.stockx.dto;
+
+import lombok.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Balance and positions of one portfolio, loaded for settlement. Positions are keyed by stock id,
+ * and {@code version} is the portfolio row version the account was read at.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioAccount {
+    private long portfolioId;
+    private double balance;
+    private long version;
+    @Builder.Default
+    private Map<Long, PositionHolding> positions = new HashMap<>();
+    private boolean dirty;
+}
@@ -0,0 +1,20 @@
+package com.johnsoncskoo.stockx.dto;
+
+import lombok.*;
+
+/**
+ * A position row as seen by settlement. {@code positionId} is null until the position is
+ * inserted; a quantity of zero marks an existing position for deletion.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionHolding {
+    private Long positionId;
+    private long stockId;
+    private int quantity;
+    private double averageCost;
+    private boolean dirty;
+}
@@ -0,0 +1,23 @@
+package com.johnsoncskoo.stockx.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Current price and day statistics of some stocks as of one tick. Live updates carry the
+ * tick's sequence in their {@code x-sequence} header; those at or below {@code sequence} are
+ * already reflected here and can be skipped.
+ */
+@Data
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshotDto {
+    private long sequence;
+    private LocalDateTime time;
+    private List<DashboardStockDto> stocks;
+}
@@ -0,0 +1,15 @@
+package com.johnsoncskoo.stockx.dto;
+
+import lombok.*;
+
+/**
+ * A session token ended on one node, broadcast so every node stops accepting it.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+    private String token;
+}
@@ -0,0 +1,93 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.dto.DashboardStockDto;
+import com.johnsoncskoo.stockx.model.Stock;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable copy of the day's OHLC, volume and previous close of every stock as of one tick,
+ * indexed by stock id. {@code sequence} is the {@link LatestPrices} sequence of that tick, so
+ * the latest price ({@code close}) and the day statistics always belong to the same tick.
+ */
+@Getter
+public final class DayStats {
+    public static final DayStats EMPTY = new DayStats(0, null,
+            new long[0], new long[0], new long[0], new long[0], new long[0], new long[0]);
+
+    private static final long NO_PRICE = LatestPrices.NO_PRICE;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final long sequence;
+    private final LocalDateTime time;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] close;
+    private final long[] volume;
+    private final long[] previousClose;
+
+    DayStats(long sequence, LocalDateTime time, long[] open, long[] high, long[] low, long[] close,
+             long[] volume, long[] previousClose) {
+        this.sequence = sequence;
+        this.time = time;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.previousClose = previousClose;
+    }
+
+    /**
+     * Day statistics of every stock in {@code catalog} that has traded.
+     */
+    public List<DashboardStockDto> dashboard(StockCatalog catalog, LocalDateTime now) {
+        var stocks = new ArrayList<DashboardStockDto>(catalog.size());
+        for (var stock : catalog.stocks()) {
+            var dto = find(stock, now);
+            if (dto != null) {
+                stocks.add(dto);
+            }
+        }
+        return stocks;
+    }
+
+    /**
+     * Day statistics of {@code stock}, with the price change measured against the previous
+     * close, or today's open for a stock first traded today; null if it has not traded.
+     */
+    public DashboardStockDto find(Stock stock, LocalDateTime now) {
+        var id = (int) stock.getId();
+        if (id >= close.length || close[id] == NO_PRICE || open[id] == NO_PRICE) {
+            return null;
+        }
+
+        var price = FixedPoint.toBigDecimal(close[id]);
+        var reference = FixedPoint.toBigDecimal(previousClose[id] != NO_PRICE ? previousClose[id] : open[id]);
+        var priceChange = price.subtract(reference);
+        var priceChangePercentage = reference.signum() == 0
+                ? BigDecimal.ZERO
+                : priceChange.divide(reference, 4, RoundingMode.HALF_UP).multiply(HUNDRED);
+
+        return DashboardStockDto.builder()
+                .stockId(id)
+                .symbol(stock.getSymbol())
+                .name(stock.getName())
+                .open(FixedPoint.toBigDecimal(open[id]))
+                .high(FixedPoint.toBigDecimal(high[id]))
+                .low(FixedPoint.toBigDecimal(low[id]))
+                .close(reference)
+                .volume(volume[id])
+                .price(price)
+                .priceChange(priceChange)
+                .priceChangePercentage(priceChangePercentage)
+                .lastUpdatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs every balance and position mutation of a portfolio on one single-threaded lane.
+ * <p>
+ * Portfolios are hashed onto a fixed set of lanes, so fills for one portfolio are applied
+ * one at a time in submission order without locks, while different portfolios proceed in
+ * parallel. A full lane queue blocks the submitter rather than rejecting the fill.
+ */
+@Slf4j
+@Component
+public class ExecutionSequencer {
+    private final ThreadPoolExecutor[] lanes;
+
+    public ExecutionSequencer(StockxProperties properties) {
+        var execution = properties.getExecution();
+        this.lanes = new ThreadPoolExecutor[Math.max(1, execution.getLanes())];
+        for (int i = 0; i < lanes.length; i++) {
+            var name = "execution-lane-" + (i + 1);
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(execution.getQueueCapacity()),
+                    runnable -> {
+                        var thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, executor) -> {
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("Execution sequencer is shut down");
+                        }
+                        try {
+                            executor.getQueue().put(runnable);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("Interrupted while waiting for lane", e);
+                        }
+                    });
+        }
+        log.info("Order execution using {} lane(s)", lanes.length);
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    public int laneOf(long portfolioId) {
+        return (int) Long.remainderUnsigned(mix64(portfolioId), lanes.length);
+    }
+
+    /**
+     * Queues {@code task} on the lane owning {@code portfolioId}.
+     */
+    public <T> CompletableFuture<T> submit(long portfolioId, Supplier<T> task) {
+        return submitToLane(laneOf(portfolioId), task);
+    }
+
+    /**
+     * Queues {@code task} on {@code lane}, for work covering several portfolios that all
+     * map to that lane.
+     */
+    public <T> CompletableFuture<T> submitToLane(int lane, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, lanes[lane]);
+    }
+
+    /**
+     * Runs {@code task} on the lane owning {@code portfolioId} and waits for its result,
+     * rethrowing any runtime exception it raised.
+     */
+    public <T> T execute(long portfolioId, Supplier<T> task) {
+        try {
+            return submit(portfolioId, task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (var lane : lanes) {
+            lane.shutdown();
+        }
+        for (var lane : lanes) {
+            try {
+                if (!lane.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("Execution lane did not drain within 5s");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // spreads sequential portfolio ids evenly across lanes
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,31 @@
+package com.johnsoncskoo.stockx.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Prices held as longs scaled by 10^4, matching the DECIMAL(19,4) price column.
+ */
+public final class FixedPoint {
+    public static final int SCALE = 4;
+    public static final long ONE = 10_000L;
+
+    private FixedPoint() {
+    }
+
+    public static long toScaled(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static long toScaled(double value) {
+        return Math.round(value * ONE);
+    }
+
+    public static BigDecimal toBigDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, SCALE);
+    }
+
+    public static double toDouble(long scaled) {
+        return (double) scaled / ONE;
+    }
+}
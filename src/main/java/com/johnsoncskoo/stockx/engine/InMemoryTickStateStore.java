@@ -0,0 +1,57 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.repository.TickStateRepository;
+import com.johnsoncskoo.stockx.service.StockCatalogService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tick state kept in a {@link TickStateTable}. The key/value store is only used to warm-load the
+ * table at startup and as a periodic write-behind snapshot
+ * (see {@link com.johnsoncskoo.stockx.worker.TickStateSnapshotWorker}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stockx.tick", name = "state-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTickStateStore implements TickStateStore {
+    private final StockCatalogService stockCatalogService;
+    private final TickStateRepository tickStateRepository;
+
+    private final TickStateTable table = new TickStateTable();
+
+    @PostConstruct
+    public void warmLoad() {
+        var stockIds = stockCatalogService.getCatalog().stockIds();
+        var loaded = tickStateRepository.findAll(stockIds, table);
+        log.info("Warm-loaded tick state for {} stocks", loaded);
+    }
+
+    @Override
+    public void beginTick(List<Long> stockIds) {
+        stockIds.stream().mapToLong(Long::longValue).max().ifPresent(table::ensureCapacity);
+    }
+
+    @Override
+    public boolean load(long stockId, TickState state) {
+        return table.load(stockId, state);
+    }
+
+    @Override
+    public void store(long stockId, TickState state) {
+        table.store(stockId, state);
+    }
+
+    /**
+     * Writes every stored state to the key/value store. Runs off the tick thread, so a stock's
+     * fields may straddle two ticks; that is harmless for a warm restart.
+     */
+    public void snapshotTo(TickStateRepository repository) {
+        repository.saveAll(table);
+    }
+}
@@ -0,0 +1,49 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.repository.StockPriceHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Latest price of every stock, kept in memory so trading never queries price history.
+ * The tick thread is the only writer: it publishes a new {@link LatestPrices} snapshot
+ * before the tick is broadcast, and readers pick up whole snapshots through a volatile read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatestPriceIndex {
+    private final StockPriceHistoryRepository stockPriceHistoryRepository;
+
+    private volatile LatestPrices snapshot = LatestPrices.EMPTY;
+
+    @PostConstruct
+    public void load() {
+        var rows = stockPriceHistoryRepository.findAllLatestPrices();
+
+        var maxStockId = rows.stream().mapToLong(row -> ((Number) row[0]).longValue()).max().orElse(-1);
+        var prices = LatestPrices.copyOf(LatestPrices.EMPTY.getPrices(), maxStockId);
+        for (var row : rows) {
+            prices[((Number) row[0]).intValue()] = FixedPoint.toScaled((BigDecimal) row[1]);
+        }
+        snapshot = new LatestPrices(0, null, prices);
+        log.info("Loaded latest prices for {} stocks", rows.size());
+    }
+
+    public LatestPrices snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Publishes the prices of {@code batch}. Must only be called from the tick thread.
+     */
+    public LatestPrices publish(TickBatch batch) {
+        var next = snapshot.next(batch);
+        snapshot = next;
+        return next;
+    }
+}
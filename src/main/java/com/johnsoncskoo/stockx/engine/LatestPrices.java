@@ -0,0 +1,63 @@
+package com.johnsoncskoo.stockx.engine;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the latest fixed-point price of every stock, indexed by stock id.
+ * Each published tick produces a new snapshot with the next sequence number.
+ */
+@Getter
+public final class LatestPrices {
+    public static final long NO_PRICE = Long.MIN_VALUE;
+    public static final LatestPrices EMPTY = new LatestPrices(0, null, new long[0]);
+
+    private final long sequence;
+    private final LocalDateTime time;
+    private final long[] prices;
+
+    LatestPrices(long sequence, LocalDateTime time, long[] prices) {
+        this.sequence = sequence;
+        this.time = time;
+        this.prices = prices;
+    }
+
+    /**
+     * Fixed-point price of {@code stockId}, or {@link #NO_PRICE} if none has been published.
+     */
+    public long scaledPrice(long stockId) {
+        return stockId >= 0 && stockId < prices.length ? prices[(int) stockId] : NO_PRICE;
+    }
+
+    public Optional<BigDecimal> findPrice(long stockId) {
+        var price = scaledPrice(stockId);
+        return price == NO_PRICE ? Optional.empty() : Optional.of(FixedPoint.toBigDecimal(price));
+    }
+
+    /**
+     * Returns the snapshot that follows this one, with the prices of {@code batch} applied.
+     */
+    LatestPrices next(TickBatch batch) {
+        var stockIds = batch.getStockIds();
+        var maxId = Arrays.stream(stockIds).max().orElse(-1);
+        var next = copyOf(prices, maxId);
+        for (int i = 0; i < batch.size(); i++) {
+            next[(int) stockIds[i]] = batch.getPrices()[i];
+        }
+        return new LatestPrices(sequence + 1, batch.getTime(), next);
+    }
+
+    /**
+     * Copy of {@code prices} long enough to index {@code maxStockId}, with new slots set to {@link #NO_PRICE}.
+     */
+    public static long[] copyOf(long[] prices, long maxStockId) {
+        var length = Math.max(prices.length, Math.toIntExact(maxStockId + 1));
+        var copy = Arrays.copyOf(prices, length);
+        Arrays.fill(copy, prices.length, length, NO_PRICE);
+        return copy;
+    }
+}
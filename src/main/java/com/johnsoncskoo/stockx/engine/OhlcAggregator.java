@@ -0,0 +1,155 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.dto.DashboardStockDto;
+import com.johnsoncskoo.stockx.repository.StockPriceHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Running open/high/low/close/volume of the current day and the previous day's close for
+ * every stock, indexed by stock id. Seeded once at startup from the hourly aggregate, then
+ * updated from each tick in O(1) per stock. Only the tick thread may call {@link #update};
+ * after each update an immutable {@link DayStats} copy is published for other threads.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OhlcAggregator {
+    private static final long NO_PRICE = LatestPrices.NO_PRICE;
+
+    private final StockPriceHistoryRepository stockPriceHistoryRepository;
+
+    private LocalDate day;
+    private long[] open = new long[0];
+    private long[] high = new long[0];
+    private long[] low = new long[0];
+    private long[] close = new long[0];
+    private long[] volume = new long[0];
+    private long[] previousClose = new long[0];
+
+    private volatile DayStats snapshot = DayStats.EMPTY;
+
+    @PostConstruct
+    public void load() {
+        var now = LocalDateTime.now();
+        var today = now.toLocalDate();
+        var rows = stockPriceHistoryRepository.findDailyBarsSince(
+                today.minusDays(1).atStartOfDay(), now.minusDays(1).truncatedTo(ChronoUnit.HOURS));
+        seed(today, rows);
+        log.info("Seeded daily OHLC from {} bars", rows.size());
+    }
+
+    /**
+     * Replaces all state with bars of {@code (stock_id, day, open, high, low, close, volume)}
+     * for {@code today} and the day before.
+     */
+    void seed(LocalDate today, List<Object[]> rows) {
+        day = today;
+        var maxStockId = rows.stream().mapToLong(row -> ((Number) row[0]).longValue()).max().orElse(-1);
+        ensureCapacity(maxStockId);
+
+        for (var row : rows) {
+            var stockId = ((Number) row[0]).intValue();
+            var barClose = FixedPoint.toScaled((BigDecimal) row[5]);
+            if (!toLocalDate(row[1]).equals(today)) {
+                previousClose[stockId] = barClose;
+                continue;
+            }
+            open[stockId] = FixedPoint.toScaled((BigDecimal) row[2]);
+            high[stockId] = FixedPoint.toScaled((BigDecimal) row[3]);
+            low[stockId] = FixedPoint.toScaled((BigDecimal) row[4]);
+            close[stockId] = barClose;
+            volume[stockId] = row[6] == null ? 0 : ((Number) row[6]).longValue();
+        }
+        publish(0, null);
+    }
+
+    /**
+     * Applies the tick published to the {@link LatestPriceIndex} as {@code sequence}.
+     */
+    public void update(TickBatch batch, long sequence) {
+        var batchDay = batch.getTime().toLocalDate();
+        if (!batchDay.equals(day)) {
+            rollOver(batchDay);
+        }
+
+        var stockIds = batch.getStockIds();
+        ensureCapacity(Arrays.stream(stockIds).max().orElse(-1));
+
+        var prices = batch.getPrices();
+        var volumes = batch.getVolumes();
+        for (int i = 0; i < batch.size(); i++) {
+            var id = (int) stockIds[i];
+            var price = prices[i];
+            if (open[id] == NO_PRICE) {
+                open[id] = high[id] = low[id] = price;
+            } else {
+                high[id] = Math.max(high[id], price);
+                low[id] = Math.min(low[id], price);
+            }
+            close[id] = price;
+            volume[id] += volumes[i];
+        }
+        publish(sequence, batch.getTime());
+    }
+
+    /**
+     * Day statistics of every stock in {@code catalog} that has traded, as of the last update.
+     */
+    public List<DashboardStockDto> dashboard(StockCatalog catalog, LocalDateTime now) {
+        return snapshot.dashboard(catalog, now);
+    }
+
+    /**
+     * Latest published statistics; safe to call from any thread.
+     */
+    public DayStats snapshot() {
+        return snapshot;
+    }
+
+    private void publish(long sequence, LocalDateTime time) {
+        snapshot = new DayStats(sequence, time, open.clone(), high.clone(), low.clone(), close.clone(),
+                volume.clone(), previousClose.clone());
+    }
+
+    private void rollOver(LocalDate nextDay) {
+        for (int id = 0; id < close.length; id++) {
+            if (close[id] != NO_PRICE) {
+                previousClose[id] = close[id];
+            }
+        }
+        Arrays.fill(open, NO_PRICE);
+        Arrays.fill(high, NO_PRICE);
+        Arrays.fill(low, NO_PRICE);
+        Arrays.fill(volume, 0);
+        day = nextDay;
+    }
+
+    private void ensureCapacity(long maxStockId) {
+        if (maxStockId < open.length) {
+            return;
+        }
+        open = LatestPrices.copyOf(open, maxStockId);
+        high = LatestPrices.copyOf(high, maxStockId);
+        low = LatestPrices.copyOf(low, maxStockId);
+        close = LatestPrices.copyOf(close, maxStockId);
+        previousClose = LatestPrices.copyOf(previousClose, maxStockId);
+        volume = Arrays.copyOf(volume, open.length);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Timestamp timestamp
+                ? timestamp.toLocalDateTime().toLocalDate()
+                : ((LocalDateTime) value).toLocalDate();
+    }
+}
@@ -0,0 +1,102 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.model.Order;
+import com.johnsoncskoo.stockx.model.OrderDirection;
+import com.johnsoncskoo.stockx.model.OrderStatus;
+import com.johnsoncskoo.stockx.model.OrderType;
+import com.johnsoncskoo.stockx.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pending limit orders indexed by stock and limit price. Buy limits are kept in descending
+ * and sell limits in ascending limit order, so the orders a price crosses are always at the
+ * head of their side and can be taken in O(log n + k).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderTriggerBook {
+    private static final Comparator<Trigger> BUY_ORDER =
+            Comparator.comparingLong(Trigger::limitPrice).reversed().thenComparingLong(Trigger::orderId);
+    private static final Comparator<Trigger> SELL_ORDER =
+            Comparator.comparingLong(Trigger::limitPrice).thenComparingLong(Trigger::orderId);
+
+    private final OrderRepository orderRepository;
+
+    private final Map<Long, Sides> books = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    @PostConstruct
+    public void rebuild() {
+        books.clear();
+        size.set(0);
+        var rows = orderRepository.findTriggers(OrderStatus.PENDING, OrderType.LIMIT);
+        for (var row : rows) {
+            add((Long) row[0], (Long) row[1], (OrderDirection) row[2], FixedPoint.toScaled((Double) row[3]));
+        }
+        log.info("Rebuilt order trigger book with {} pending limit orders", rows.size());
+    }
+
+    public void add(Order order) {
+        add(order.getId(), order.getStock().getId(), order.getDirection(), FixedPoint.toScaled(order.getLimitPrice()));
+    }
+
+    public void add(long orderId, long stockId, OrderDirection direction, long limitPrice) {
+        var sides = books.computeIfAbsent(stockId, id -> new Sides());
+        var side = direction == OrderDirection.BUY ? sides.buys : sides.sells;
+        if (side.add(new Trigger(limitPrice, orderId))) {
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes and returns the ids of every order whose limit is crossed by {@code prices}:
+     * buys with a limit at or above the price and sells with a limit at or below it.
+     */
+    public List<Long> trigger(LatestPrices prices) {
+        var triggered = new ArrayList<Long>();
+        books.forEach((stockId, sides) -> {
+            var price = prices.scaledPrice(stockId);
+            if (price == LatestPrices.NO_PRICE) {
+                return;
+            }
+            // with both comparators, crossed orders sort before (price, MAX_VALUE)
+            var bound = new Trigger(price, Long.MAX_VALUE);
+            drain(sides.buys.headSet(bound, true), triggered);
+            drain(sides.sells.headSet(bound, true), triggered);
+        });
+        size.addAndGet(-triggered.size());
+        return triggered;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    private static void drain(NavigableSet<Trigger> crossed, List<Long> triggered) {
+        Trigger trigger;
+        while ((trigger = crossed.pollFirst()) != null) {
+            triggered.add(trigger.orderId());
+        }
+    }
+
+    private record Trigger(long limitPrice, long orderId) {
+    }
+
+    private static final class Sides {
+        private final NavigableSet<Trigger> buys = new ConcurrentSkipListSet<>(BUY_ORDER);
+        private final NavigableSet<Trigger> sells = new ConcurrentSkipListSet<>(SELL_ORDER);
+    }
+}
@@ -0,0 +1,43 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.repository.TickStateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps tick state in the shared key/value store (Redis unless running single-node), fetching every stock with one MGET at the start of a
+ * tick and writing them back in one pipeline at the end.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stockx.tick", name = "state-store", havingValue = "redis")
+public class RedisTickStateStore implements TickStateStore {
+    private final TickStateRepository tickStateRepository;
+
+    private final TickStateTable table = new TickStateTable();
+
+    @Override
+    public void beginTick(List<Long> stockIds) {
+        table.clear();
+        stockIds.stream().mapToLong(Long::longValue).max().ifPresent(table::ensureCapacity);
+        tickStateRepository.findAll(stockIds, table);
+    }
+
+    @Override
+    public boolean load(long stockId, TickState state) {
+        return table.load(stockId, state);
+    }
+
+    @Override
+    public void store(long stockId, TickState state) {
+        table.store(stockId, state);
+    }
+
+    @Override
+    public void endTick() {
+        tickStateRepository.saveAll(table);
+    }
+}
@@ -0,0 +1,151 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.model.Stock;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * Advances every stock by one tick, partitioning the stocks across a pool of shard threads.
+ * <p>
+ * Each stock draws from its own {@link SplittableRandom} stream derived from the master seed
+ * and the stock id, so a given seed yields the same prices whatever the shard count.
+ */
+@Slf4j
+@Component
+public class ShardedTickGenerator {
+    // below this many stocks per shard, handing work to another thread costs more than it saves
+    private static final int MIN_STOCKS_PER_SHARD = 256;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final int shards;
+    private final long seed;
+    private final ExecutorService pool;
+    private final TickState[] shardStates;
+
+    private SplittableRandom[] randoms = new SplittableRandom[0];
+
+    public ShardedTickGenerator(StockxProperties properties) {
+        var tick = properties.getTick();
+        this.shards = Math.max(1, tick.getShards());
+        this.seed = tick.getSeed() != null ? tick.getSeed() : new SecureRandom().nextLong();
+        this.shardStates = new TickState[shards];
+        for (int i = 0; i < shards; i++) {
+            shardStates[i] = new TickState();
+        }
+
+        var threadCount = new AtomicInteger();
+        this.pool = shards > 1
+                ? Executors.newFixedThreadPool(shards, runnable -> {
+                    var thread = new Thread(runnable, "tick-shard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        log.info("Tick generation using {} shard(s) with seed {}", shards, seed);
+    }
+
+    /**
+     * Generates the next tick for every stock in {@code catalog}. Stocks without stored state
+     * are seeded with the price returned by {@code initialPrice}.
+     */
+    public TickBatch generate(StockCatalog catalog, TickStateStore store,
+                              ToLongFunction<Stock> initialPrice, LocalDateTime time) {
+        var size = catalog.size();
+        var batch = new TickBatch(time, size);
+
+        store.beginTick(catalog.stockIds());
+        prepareRandoms(catalog);
+
+        var shardCount = Math.min(shards, Math.max(1, size / MIN_STOCKS_PER_SHARD));
+        if (shardCount == 1) {
+            generateRange(catalog, 0, size, store, initialPrice, shardStates[0], batch);
+        } else {
+            var tasks = new ArrayList<Callable<Void>>(shardCount);
+            for (int shard = 0; shard < shardCount; shard++) {
+                var from = (int) ((long) size * shard / shardCount);
+                var to = (int) ((long) size * (shard + 1) / shardCount);
+                var state = shardStates[shard];
+                tasks.add(() -> {
+                    generateRange(catalog, from, to, store, initialPrice, state, batch);
+                    return null;
+                });
+            }
+            awaitAll(tasks);
+        }
+
+        store.endTick();
+        return batch;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private void generateRange(StockCatalog catalog, int from, int to, TickStateStore store,
+                               ToLongFunction<Stock> initialPrice, TickState state, TickBatch batch) {
+        var stocks = catalog.stocks();
+        for (int i = from; i < to; i++) {
+            var stock = stocks.get(i);
+            var stockId = stock.getId();
+
+            if (!store.load(stockId, state)) {
+                state.reset(initialPrice.applyAsLong(stock), 0, 0);
+            }
+
+            TickEngine.advance(state, catalog.basePrice(i), randoms[(int) stockId]);
+            store.store(stockId, state);
+            batch.set(i, stockId, state);
+        }
+    }
+
+    // runs on the tick thread before the shards start, so shards only read the array
+    private void prepareRandoms(StockCatalog catalog) {
+        var maxId = catalog.maxStockId();
+        if (maxId >= randoms.length) {
+            randoms = Arrays.copyOf(randoms, Math.toIntExact(maxId + 1));
+        }
+        for (var stockId : catalog.stockIds()) {
+            if (randoms[stockId.intValue()] == null) {
+                randoms[stockId.intValue()] = new SplittableRandom(mix64(seed + stockId * GOLDEN_GAMMA));
+            }
+        }
+    }
+
+    private void awaitAll(List<Callable<Void>> tasks) {
+        try {
+            for (var future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating tick", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tick shard failed", e.getCause());
+        }
+    }
+
+    // David Stafford's variant 13 of the MurmurHash3 finalizer, as used by SplittableRandom
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,71 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.model.Stock;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, read-optimised view of every listed stock. Stocks are looked up by id through a
+ * dense array and by symbol through an immutable hash map; base prices are pre-scaled.
+ */
+public final class StockCatalog {
+    public static final StockCatalog EMPTY = new StockCatalog(List.of());
+
+    private final List<Stock> stocks;
+    private final List<Long> stockIds;
+    private final long[] basePrices;
+    private final Stock[] byId;
+    private final Map<String, Stock> bySymbol;
+
+    public StockCatalog(List<Stock> stocks) {
+        this.stocks = List.copyOf(stocks);
+        this.stockIds = this.stocks.stream().map(Stock::getId).toList();
+        this.basePrices = new long[this.stocks.size()];
+
+        var maxId = stockIds.stream().mapToLong(Long::longValue).max().orElse(-1);
+        this.byId = new Stock[Math.toIntExact(maxId + 1)];
+
+        var symbols = new HashMap<String, Stock>(this.stocks.size() * 2);
+        for (int i = 0; i < this.stocks.size(); i++) {
+            var stock = this.stocks.get(i);
+            basePrices[i] = FixedPoint.toScaled(stock.getBasePrice());
+            byId[(int) stock.getId()] = stock;
+            symbols.put(stock.getSymbol(), stock);
+        }
+        this.bySymbol = Map.copyOf(symbols);
+    }
+
+    public List<Stock> stocks() {
+        return stocks;
+    }
+
+    public List<Long> stockIds() {
+        return stockIds;
+    }
+
+    public int size() {
+        return stocks.size();
+    }
+
+    /**
+     * Fixed-point base price of the stock at {@code index} in {@link #stocks()}.
+     */
+    public long basePrice(int index) {
+        return basePrices[index];
+    }
+
+    public long maxStockId() {
+        return byId.length - 1;
+    }
+
+    public Optional<Stock> findById(long stockId) {
+        return stockId >= 0 && stockId < byId.length ? Optional.ofNullable(byId[(int) stockId]) : Optional.empty();
+    }
+
+    public Optional<Stock> findBySymbol(String symbol) {
+        return symbol == null ? Optional.empty() : Optional.ofNullable(bySymbol.get(symbol));
+    }
+}
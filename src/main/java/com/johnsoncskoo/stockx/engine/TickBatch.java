@@ -0,0 +1,39 @@
+package com.johnsoncskoo.stockx.engine;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Prices produced by one tick, in the same order as the stocks they were generated for.
+ * Prices are fixed-point (see {@link FixedPoint}).
+ */
+@Getter
+public class TickBatch {
+    public static final long DEFAULT_VOLUME = 100_000L;   // random-ify volume if needed in the future
+
+    private final LocalDateTime time;
+    private final long[] stockIds;
+    private final long[] prices;
+    private final long[] priceChanges;
+    private final long[] volumes;
+
+    public TickBatch(LocalDateTime time, int size) {
+        this.time = time;
+        this.stockIds = new long[size];
+        this.prices = new long[size];
+        this.priceChanges = new long[size];
+        this.volumes = new long[size];
+    }
+
+    public int size() {
+        return stockIds.length;
+    }
+
+    void set(int index, long stockId, TickState state) {
+        stockIds[index] = stockId;
+        prices[index] = state.getPrice();
+        priceChanges[index] = state.getPriceChange();
+        volumes[index] = DEFAULT_VOLUME;
+    }
+}
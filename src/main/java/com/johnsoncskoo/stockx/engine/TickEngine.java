@@ -0,0 +1,90 @@
+package com.johnsoncskoo.stockx.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Random walk price generator working purely on fixed-point longs (see {@link FixedPoint}).
+ */
+public final class TickEngine {
+
+    private TickEngine() {
+    }
+
+    /**
+     * Advances the given state by one tick and returns the applied price change.
+     */
+    public static long advance(TickState state, long basePrice, RandomGenerator random) {
+
+        // generate random movement:
+        // 1. ±0.5% per tick
+        // 2. for every 10 ticks, chance for ±1% movement
+        // 3. for every 100 ticks, chance for ±3% movement
+        // 4. if same movement for more than 10 ticks, double the chance for opposing movement
+        // 5. price will never be less than 20% of base price
+        // 6. price will never be more than 200% of base price
+        // 7. if price is within 30% of base price, increase chance for +3% movement
+        // 8. if price is within 180% of base price, increase chance for -3% movement
+
+        var price = state.getPrice();
+        var movementCount = state.getMovementCount();
+        var ticksElapsed = state.getTicksElapsed();
+        long priceChange;
+        boolean reset = true;
+
+        if (price * 5 <= basePrice) {
+            // Force an increase of 1-3%
+            priceChange = percentOf(price, 0.01 + random.nextDouble() * 0.02);
+        } else if (price >= basePrice * 2) {
+            // Force a decrease of 1-3%
+            priceChange = -percentOf(price, 0.01 + random.nextDouble() * 0.02);
+        } else if (price * 10 <= basePrice * 3 && random.nextInt(3) == 0) {
+            // Increase chance for +3%
+            priceChange = percentOf(price, random.nextDouble() * 0.03);
+        } else if (price * 10 >= basePrice * 18 && random.nextInt(3) == 0) {
+            // Increase chance for -3%
+            priceChange = -percentOf(price, random.nextDouble() * 0.03);
+        } else if (ticksElapsed >= 99 && random.nextBoolean()) {
+            // chance for ±3% movement at 100 ticks
+            priceChange = percentOf(price, random.nextDouble() * 0.03);
+            if (random.nextBoolean()) {
+                priceChange = -priceChange;
+            }
+        } else {
+            reset = false;
+
+            // chance for ±1% movement at 10 ticks, otherwise normal price change of ±0.5%
+            if (ticksElapsed >= 10 && ticksElapsed % 10 == 0 && random.nextBoolean()) {
+                priceChange = percentOf(price, random.nextDouble() * 0.01);
+            } else {
+                priceChange = percentOf(price, random.nextDouble() * 0.005);
+            }
+
+            // if movement is the same for more than 10 ticks, double the chance for opposing movement
+            if (movementCount >= 10 && random.nextBoolean()) {
+                priceChange = -priceChange;
+            } else if (movementCount <= -10 && random.nextBoolean()) {
+                // keep the upward movement
+            } else if (random.nextBoolean()) {
+                priceChange = -priceChange;
+            }
+        }
+
+        state.setPrice(price + priceChange);
+        state.setPriceChange(priceChange);
+        state.setMovementCount(updateMovement(movementCount, priceChange));
+        state.setTicksElapsed(reset ? 1 : ticksElapsed + 1);
+        return priceChange;
+    }
+
+    static int updateMovement(int movementCount, long priceChange) {
+        if (movementCount < 0 && priceChange >= 0 || movementCount > 0 && priceChange < 0) {
+            movementCount = 0;
+        }
+        movementCount += priceChange >= 0 ? 1 : -1;
+        return movementCount;
+    }
+
+    private static long percentOf(long price, double fraction) {
+        return Math.round(price * fraction);
+    }
+}
@@ -0,0 +1,9 @@
+package com.johnsoncskoo.stockx.engine;
+
+/**
+ * One tick as shared between cluster nodes. {@code epoch} is random per generator run and
+ * {@code sequence} counts ticks within it, so followers can spot gaps and a restarted
+ * generator. {@code publishedAt} is the generator's wall clock in epoch millis.
+ */
+public record TickFeedMessage(long epoch, long sequence, long publishedAt, TickBatch batch) {
+}
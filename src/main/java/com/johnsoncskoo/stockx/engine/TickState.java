@@ -0,0 +1,26 @@
+package com.johnsoncskoo.stockx.engine;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Mutable per-stock random walk state. A single instance is reused across stocks
+ * so that advancing a tick does not allocate.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TickState {
+    private long price;
+    private long priceChange;
+    private int movementCount;
+    private int ticksElapsed;
+
+    public void reset(long price, int movementCount, int ticksElapsed) {
+        this.price = price;
+        this.priceChange = 0;
+        this.movementCount = movementCount;
+        this.ticksElapsed = ticksElapsed;
+    }
+}
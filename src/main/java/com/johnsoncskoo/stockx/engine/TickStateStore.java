@@ -0,0 +1,28 @@
+package com.johnsoncskoo.stockx.engine;
+
+import java.util.List;
+
+/**
+ * Holds the random walk state of every stock between ticks.
+ */
+public interface TickStateStore {
+
+    /**
+     * Called once before the stocks of a tick are loaded, so remote stores can fetch them in bulk.
+     */
+    default void beginTick(List<Long> stockIds) {
+    }
+
+    /**
+     * Copies the stored state of the stock into {@code state}, returning false if none is stored.
+     */
+    boolean load(long stockId, TickState state);
+
+    void store(long stockId, TickState state);
+
+    /**
+     * Called once after every stock of a tick has been stored.
+     */
+    default void endTick() {
+    }
+}
@@ -0,0 +1,75 @@
+package com.johnsoncskoo.stockx.engine;
+
+import java.util.Arrays;
+
+/**
+ * Tick state of many stocks held in primitive arrays indexed by stock id.
+ */
+public class TickStateTable {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private boolean[] present = new boolean[INITIAL_CAPACITY];
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private long[] priceChanges = new long[INITIAL_CAPACITY];
+    private int[] movementCounts = new int[INITIAL_CAPACITY];
+    private int[] ticksElapsed = new int[INITIAL_CAPACITY];
+
+    public boolean load(long stockId, TickState state) {
+        var index = index(stockId);
+        var present = this.present;
+        if (index >= present.length || !present[index]) {
+            return false;
+        }
+        state.reset(prices[index], movementCounts[index], ticksElapsed[index]);
+        state.setPriceChange(priceChanges[index]);
+        return true;
+    }
+
+    public void store(long stockId, TickState state) {
+        var index = index(stockId);
+        if (index >= present.length) {
+            grow(index + 1);
+        }
+        prices[index] = state.getPrice();
+        priceChanges[index] = state.getPriceChange();
+        movementCounts[index] = state.getMovementCount();
+        ticksElapsed[index] = state.getTicksElapsed();
+        present[index] = true;
+    }
+
+    /**
+     * Grows the table so {@link #store} never reallocates for ids up to {@code maxStockId},
+     * which lets several threads store disjoint stocks concurrently.
+     */
+    public void ensureCapacity(long maxStockId) {
+        var index = index(maxStockId);
+        if (index >= present.length) {
+            grow(index + 1);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(present, false);
+    }
+
+    /**
+     * Highest stock id that may be present, plus one.
+     */
+    public int capacity() {
+        return present.length;
+    }
+
+    private static int index(long stockId) {
+        return Math.toIntExact(stockId);
+    }
+
+    private void grow(int minCapacity) {
+        var capacity = Math.max(minCapacity, present.length * 2);
+        // assign the flag array last so readers never index past the other arrays
+        prices = Arrays.copyOf(prices, capacity);
+        priceChanges = Arrays.copyOf(priceChanges, capacity);
+        movementCounts = Arrays.copyOf(movementCounts, capacity);
+        ticksElapsed = Arrays.copyOf(ticksElapsed, capacity);
+        present = Arrays.copyOf(present, capacity);
+    }
+}
@@ -0,0 +1,166 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.johnsoncskoo.stockx.dto.DashboardStockDto;
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-layout binary market data, big-endian. Every frame starts with a 13-byte header:
+ * <pre>
+ * u8  type          1 = prices, 2 = dashboard
+ * i64 time          epoch millis
+ * i32 count         number of records
+ * </pre>
+ * followed by {@code count} records. Prices are fixed-point longs scaled by 10^4 and stocks
+ * are identified by id; symbols and names come from the stock list the client already has.
+ * <pre>
+ * prices, 16 bytes:     i32 stockId, i64 price, i32 millis after the header time
+ * dashboard, 60 bytes:  i32 stockId, i64 open, i64 high, i64 low, i64 previousClose,
+ *                       i64 price, i64 volume, i32 reserved
+ * </pre>
+ * Not thread-safe; only the tick thread may use an instance.
+ */
+public class BinaryMarketDataEncoder {
+    public static final byte PRICES = 1;
+    public static final byte DASHBOARD = 2;
+    public static final int HEADER_SIZE = 1 + Long.BYTES + Integer.BYTES;
+    public static final int PRICE_RECORD_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    public static final int DASHBOARD_RECORD_SIZE = Integer.BYTES + 6 * Long.BYTES + Integer.BYTES;
+
+    private static final int COUNT_OFFSET = 1 + Long.BYTES;
+
+    private final ZoneId zone;
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private long baseMillis;
+    private int count;
+
+    public BinaryMarketDataEncoder() {
+        this(ZoneId.systemDefault());
+    }
+
+    public BinaryMarketDataEncoder(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public void reset() {
+        buffer.clear();
+        buffer.position(HEADER_SIZE);
+        count = 0;
+    }
+
+    /**
+     * Appends one price record, returning its index for {@link #element}.
+     */
+    public int add(long stockId, long scaledPrice, LocalDateTime time) {
+        var millis = toEpochMillis(time);
+        if (count == 0) {
+            baseMillis = millis;
+        }
+        ensureCapacity(PRICE_RECORD_SIZE);
+        buffer.putInt(Math.toIntExact(stockId))
+                .putLong(scaledPrice)
+                .putInt(Math.toIntExact(millis - baseMillis));
+        return count++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * One price record as a frame of its own.
+     */
+    public byte[] element(int index) {
+        var frame = ByteBuffer.allocate(HEADER_SIZE + PRICE_RECORD_SIZE);
+        writeHeader(frame, PRICES, baseMillis, 1);
+        frame.position(HEADER_SIZE);
+        frame.put(buffer.array(), HEADER_SIZE + index * PRICE_RECORD_SIZE, PRICE_RECORD_SIZE);
+        return frame.array();
+    }
+
+    /**
+     * Every price record added since {@link #reset()} as one frame.
+     */
+    public byte[] array() {
+        var frame = Arrays.copyOf(buffer.array(), buffer.position());
+        writeHeader(ByteBuffer.wrap(frame), PRICES, baseMillis, count);
+        return frame;
+    }
+
+    /**
+     * Merges two price frames, keeping the newer record of each stock in the position the
+     * stock first appeared. Times are re-based onto the older frame's header time.
+     */
+    public static byte[] mergePrices(byte[] older, byte[] newer) {
+        var records = new LinkedHashMap<Integer, long[]>();
+        collectPrices(ByteBuffer.wrap(older), records);
+        collectPrices(ByteBuffer.wrap(newer), records);
+
+        var baseMillis = ByteBuffer.wrap(older).getLong(1);
+        var frame = ByteBuffer.allocate(HEADER_SIZE + records.size() * PRICE_RECORD_SIZE);
+        writeHeader(frame, PRICES, baseMillis, records.size());
+        frame.position(HEADER_SIZE);
+        records.forEach((stockId, record) -> frame.putInt(stockId)
+                .putLong(record[0])
+                .putInt(Math.toIntExact(record[1] - baseMillis)));
+        return frame.array();
+    }
+
+    private static void collectPrices(ByteBuffer frame, Map<Integer, long[]> records) {
+        var baseMillis = frame.getLong(1);
+        var count = frame.getInt(COUNT_OFFSET);
+        frame.position(HEADER_SIZE);
+        for (int i = 0; i < count; i++) {
+            var stockId = frame.getInt();
+            var price = frame.getLong();
+            records.put(stockId, new long[]{price, baseMillis + frame.getInt()});
+        }
+    }
+
+    public byte[] dashboard(List<DashboardStockDto> stocks, LocalDateTime time) {
+        var frame = ByteBuffer.allocate(HEADER_SIZE + stocks.size() * DASHBOARD_RECORD_SIZE);
+        writeHeader(frame, DASHBOARD, toEpochMillis(time), stocks.size());
+        frame.position(HEADER_SIZE);
+        for (var stock : stocks) {
+            frame.putInt(Math.toIntExact(stock.getStockId()))
+                    .putLong(toScaled(stock.getOpen()))
+                    .putLong(toScaled(stock.getHigh()))
+                    .putLong(toScaled(stock.getLow()))
+                    .putLong(toScaled(stock.getClose()))
+                    .putLong(toScaled(stock.getPrice()))
+                    .putLong(stock.getVolume())
+                    .putInt(0);
+        }
+        return frame.array();
+    }
+
+    private long toEpochMillis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static long toScaled(BigDecimal value) {
+        return value == null ? 0 : FixedPoint.toScaled(value);
+    }
+
+    private static void writeHeader(ByteBuffer frame, byte type, long millis, int count) {
+        frame.put(0, type)
+                .putLong(1, millis)
+                .putInt(COUNT_OFFSET, count);
+    }
+
+    private void ensureCapacity(int additional) {
+        if (buffer.remaining() < additional) {
+            var grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + additional));
+            grown.put(buffer.array(), 0, buffer.position());
+            buffer = grown;
+        }
+    }
+}
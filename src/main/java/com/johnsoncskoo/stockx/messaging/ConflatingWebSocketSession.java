@@ -0,0 +1,204 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound queue of one WebSocket session. {@link #sendMessage} only queues the frame, and a
+ * sender thread from {@link SessionConflation} writes queued frames to the connection in order,
+ * so a slow client never holds up the broker. While the queue is within its size limit every
+ * frame is kept. Once it grows past the limit the session is conflated: a queued MESSAGE frame
+ * is replaced by the next one for the same subscription and destination, and frames of the
+ * delta stock feeds are merged stock by stock, so the queue is bounded by the number of
+ * streams rather than by how far behind the client is. The session leaves the conflated state
+ * when the queue drains. A drain gives up its thread after a short time slice and carries on in
+ * a new task, and a session whose connection accepts nothing for the send time limit is closed,
+ * as Spring's own decorator would.
+ */
+@Slf4j
+public class ConflatingWebSocketSession extends WebSocketSessionDecorator {
+    private static final long DRAIN_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final SessionConflation conflation;
+
+    // keyed by a fresh token per frame, or by the frame's StompFrames.Key once conflated
+    private final Map<Object, WebSocketMessage<?>> queue = new LinkedHashMap<>();
+    private int queuedBytes;
+    private boolean conflated;
+    private boolean draining;
+    private boolean closed;
+
+    // when the frame being written started, or zero between writes
+    private volatile long sendStartedAt;
+
+    public ConflatingWebSocketSession(WebSocketSession delegate, SessionConflation conflation) {
+        super(delegate);
+        this.conflation = conflation;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (isStuck()) {
+            // closing can block on the stalled connection, so keep it off the broker's thread
+            conflation.execute(this::closeIfStuck);
+            return;
+        }
+
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            if (!conflated && queuedBytes + message.getPayloadLength() > conflation.getBufferSizeLimit()) {
+                conflate();
+            }
+            enqueue(message);
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        conflation.execute(this::drain);
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        release();
+        super.close(status);
+    }
+
+    /**
+     * Drops every queued frame; called once the connection is closed.
+     */
+    void release() {
+        synchronized (queue) {
+            closed = true;
+            queue.clear();
+            queuedBytes = 0;
+            setConflated(false);
+        }
+    }
+
+    /**
+     * Closes the session if its connection has not completed a send within the send time limit.
+     */
+    void closeIfStuck() {
+        synchronized (queue) {
+            if (closed || !isStuck()) {
+                return;
+            }
+        }
+        log.warn("Closing WebSocket session {} after {} ms without completing a send", getId(),
+                TimeUnit.NANOSECONDS.toMillis(conflation.getSendTimeLimitNanos()));
+        try {
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Failed to close WebSocket session {}", getId(), e);
+        }
+    }
+
+    boolean isStuck() {
+        var startedAt = sendStartedAt;
+        return startedAt != 0 && System.nanoTime() - startedAt > conflation.getSendTimeLimitNanos();
+    }
+
+    int getQueuedBytes() {
+        synchronized (queue) {
+            return queuedBytes;
+        }
+    }
+
+    boolean isConflated() {
+        synchronized (queue) {
+            return conflated;
+        }
+    }
+
+    private void drain() {
+        var sliceEnd = System.nanoTime() + DRAIN_SLICE_NANOS;
+        while (true) {
+            WebSocketMessage<?> message;
+            synchronized (queue) {
+                var next = queue.entrySet().iterator();
+                if (closed || !next.hasNext()) {
+                    draining = false;
+                    setConflated(false);
+                    return;
+                }
+                if (System.nanoTime() - sliceEnd >= 0) {
+                    // still draining, so nothing else schedules this session in the meantime
+                    break;
+                }
+                message = next.next().getValue();
+                next.remove();
+                queuedBytes -= message.getPayloadLength();
+            }
+
+            sendStartedAt = System.nanoTime();
+            try {
+                getDelegate().sendMessage(message);
+            } catch (IOException | RuntimeException e) {
+                // closed rather than just released, or the client would stay connected and receive nothing
+                log.debug("Failed to send to WebSocket session {}, closing it", getId(), e);
+                synchronized (queue) {
+                    draining = false;
+                }
+                try {
+                    close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException closeError) {
+                    log.debug("Failed to close WebSocket session {}", getId(), closeError);
+                }
+                return;
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+        conflation.execute(this::drain);
+    }
+
+    private void enqueue(WebSocketMessage<?> message) {
+        var key = conflated ? StompFrames.key(message) : null;
+        if (key == null) {
+            queue.put(new Object(), message);
+            queuedBytes += message.getPayloadLength();
+            return;
+        }
+
+        var queued = queue.get(key);
+        if (queued != null && key.isDelta()) {
+            message = StompFrames.merge(key, queued, message);
+        }
+        if (queued != null) {
+            queuedBytes -= queued.getPayloadLength();
+            conflation.recordConflated();
+        }
+        // replacing a value keeps the frame's place in the queue
+        queue.put(key, message);
+        queuedBytes += message.getPayloadLength();
+    }
+
+    // re-queues what is already waiting under conflation keys, oldest first
+    private void conflate() {
+        var waiting = queue.values().toArray(new WebSocketMessage<?>[0]);
+        queue.clear();
+        queuedBytes = 0;
+        setConflated(true);
+        for (var message : waiting) {
+            enqueue(message);
+        }
+    }
+
+    private void setConflated(boolean conflated) {
+        if (this.conflated != conflated) {
+            this.conflated = conflated;
+            conflation.recordConflatedSession(conflated);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.dto.OrderTriggerRequest;
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import com.johnsoncskoo.stockx.engine.OrderTriggerBook;
+import com.johnsoncskoo.stockx.model.Order;
+import com.johnsoncskoo.stockx.store.KeyValueStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes new limit orders to the trigger book of the node that generates ticks. On a
+ * follower they are published to the order channel; an order lost in transit is still
+ * picked up when the generator next rebuilds its book from the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderTriggerRelay {
+    private final OrderTriggerBook orderTriggerBook;
+    private final KeyValueStore keyValueStore;
+    private final StockxProperties properties;
+
+    @PostConstruct
+    public void subscribe() {
+        var cluster = properties.getCluster();
+        if (!cluster.isEnabled() || !cluster.isGenerator()) {
+            return;
+        }
+        keyValueStore.subscribe(cluster.getOrderChannel(), message -> {
+            if (message instanceof OrderTriggerRequest request) {
+                orderTriggerBook.add(request.getOrderId(), request.getStockId(), request.getDirection(),
+                        request.getLimitPrice());
+            }
+        });
+    }
+
+    public void add(Order order) {
+        if (properties.getCluster().isGeneratorNode()) {
+            orderTriggerBook.add(order);
+            return;
+        }
+        keyValueStore.publish(properties.getCluster().getOrderChannel(), OrderTriggerRequest.builder()
+                .orderId(order.getId())
+                .stockId(order.getStock().getId())
+                .direction(order.getDirection())
+                .limitPrice(FixedPoint.toScaled(order.getLimitPrice()))
+                .build());
+    }
+}
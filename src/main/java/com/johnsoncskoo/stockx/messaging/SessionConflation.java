@@ -0,0 +1,138 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives every WebSocket session a {@link ConflatingWebSocketSession} and owns the sender
+ * threads that write their queues to the network. Each drain runs on its own virtual thread,
+ * so a client whose connection stops accepting data parks only its own sender, and a periodic
+ * sweep closes sessions that have not completed a send within the send time limit.
+ */
+@Slf4j
+@Component
+public class SessionConflation implements WebSocketHandlerDecoratorFactory {
+    private static final long SWEEP_PERIOD_MIN_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Getter
+    private final int bufferSizeLimit;
+    @Getter
+    private final long sendTimeLimitNanos;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService sweeper;
+    private final Map<String, ConflatingWebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger conflatedSessions = new AtomicInteger();
+    private final Counter conflatedFrames;
+
+    public SessionConflation(StockxProperties properties, MeterRegistry meterRegistry) {
+        var websocket = properties.getWebsocket();
+        this.bufferSizeLimit = Math.toIntExact(websocket.getSendBufferSizeLimit().toBytes());
+        this.sendTimeLimitNanos = websocket.getSendTimeLimit().toNanos();
+
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-send-", 1).factory());
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "ws-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var sweepPeriod = Math.max(SWEEP_PERIOD_MIN_NANOS, sendTimeLimitNanos / 2);
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepPeriod, sweepPeriod, TimeUnit.NANOSECONDS);
+
+        Gauge.builder("stockx.websocket.sessions.conflated", conflatedSessions, AtomicInteger::get)
+                .description("WebSocket sessions whose outbound queue is being conflated")
+                .register(meterRegistry);
+        this.conflatedFrames = Counter.builder("stockx.websocket.frames.conflated")
+                .description("Queued frames replaced or merged by a newer frame for the same stream")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(open(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                closed(session);
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdown();
+        senders.shutdown();
+    }
+
+    ConflatingWebSocketSession open(WebSocketSession session) {
+        // only the raw session tells the transport apart; once wrapped, the STOMP handler cannot
+        if (session instanceof SockJsSession) {
+            session.getAttributes().put(WireFormat.TEXT_ONLY_ATTRIBUTE, Boolean.TRUE);
+        }
+        var conflating = new ConflatingWebSocketSession(session, this);
+        sessions.put(session.getId(), conflating);
+        return conflating;
+    }
+
+    void closed(WebSocketSession session) {
+        var conflating = sessions.remove(session.getId());
+        if (conflating != null) {
+            conflating.release();
+        }
+    }
+
+    void execute(Runnable drain) {
+        try {
+            senders.execute(drain);
+        } catch (RejectedExecutionException e) {
+            log.debug("Dropping WebSocket send during shutdown");
+        }
+    }
+
+    // closing may block on the stalled connection itself, so it happens on a sender thread
+    private void sweep() {
+        for (var session : sessions.values()) {
+            if (session.isStuck()) {
+                execute(session::closeIfStuck);
+            }
+        }
+    }
+
+    void recordConflatedSession(boolean conflated) {
+        if (conflated) {
+            conflatedSessions.incrementAndGet();
+        } else {
+            conflatedSessions.decrementAndGet();
+        }
+    }
+
+    void recordConflated() {
+        conflatedFrames.increment();
+    }
+}
@@ -0,0 +1,182 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes stock updates straight from fixed-point prices into one reusable buffer, as the JSON
+ * array {@code [{"stockId":1,"price":12.3400,"time":"..."},...]} that Jackson would produce for
+ * a list of {@link com.johnsoncskoo.stockx.dto.StockUpdateDto}. Each element is encoded once;
+ * {@link #element} and {@link #array} copy it out as an immutable payload that the broker
+ * shares between every session of a destination.
+ * <p>
+ * Not thread-safe; only the tick thread may use an instance.
+ */
+public class StockUpdateEncoder {
+    private static final byte[] STOCK_ID = "{\"stockId\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PRICE = ",\"price\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TIME = ",\"time\":\"".getBytes(StandardCharsets.US_ASCII);
+    // longest element: two 20-character longs, a decimal point and the time
+    private static final int MAX_ELEMENT_SIZE = STOCK_ID.length + PRICE.length + TIME.length + 2 * 20 + 1 + 32 + 3;
+
+    private byte[] buffer = new byte[64 * 1024];
+    private int position;
+    private int[] starts = new int[256];
+    private int[] ends = new int[256];
+    private int count;
+
+    private LocalDateTime lastTime;
+    private byte[] lastTimeBytes;
+
+    public void reset() {
+        position = 0;
+        count = 0;
+        buffer[position++] = '[';
+    }
+
+    /**
+     * Appends one update, returning its index for {@link #element}.
+     */
+    public int add(long stockId, long scaledPrice, LocalDateTime time) {
+        ensureCapacity(MAX_ELEMENT_SIZE);
+        if (count > 0) {
+            buffer[position++] = ',';
+        }
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+
+        starts[count] = position;
+        writeBytes(STOCK_ID);
+        writeLong(stockId);
+        writeBytes(PRICE);
+        writePrice(scaledPrice);
+        writeBytes(TIME);
+        writeBytes(format(time));
+        buffer[position++] = '"';
+        buffer[position++] = '}';
+        ends[count] = position;
+        return count++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public byte[] element(int index) {
+        return Arrays.copyOfRange(buffer, starts[index], ends[index]);
+    }
+
+    public byte[] array() {
+        var array = Arrays.copyOf(buffer, position + 1);
+        array[position] = ']';
+        return array;
+    }
+
+    /**
+     * Merges two arrays written by {@link #array}, keeping the newer update of each stock in
+     * the position the stock first appeared.
+     */
+    public static byte[] merge(byte[] older, byte[] newer) {
+        var elements = new LinkedHashMap<Long, byte[]>();
+        collect(older, elements);
+        collect(newer, elements);
+
+        var merged = new ByteArrayOutputStream(older.length + newer.length);
+        merged.write('[');
+        for (var element : elements.values()) {
+            if (merged.size() > 1) {
+                merged.write(',');
+            }
+            merged.writeBytes(element);
+        }
+        merged.write(']');
+        return merged.toByteArray();
+    }
+
+    private static void collect(byte[] array, Map<Long, byte[]> elements) {
+        // elements hold no nested objects, so each one ends at the first closing brace
+        var start = 1;
+        while (start < array.length && array[start] == '{') {
+            var end = start;
+            while (array[end] != '}') {
+                end++;
+            }
+            elements.put(parseLong(array, start + STOCK_ID.length), Arrays.copyOfRange(array, start, end + 1));
+            start = end + 2;
+        }
+    }
+
+    private static long parseLong(byte[] bytes, int offset) {
+        var negative = bytes[offset] == '-';
+        if (negative) {
+            offset++;
+        }
+        long value = 0;
+        while (bytes[offset] >= '0' && bytes[offset] <= '9') {
+            value = value * 10 + (bytes[offset++] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private byte[] format(LocalDateTime time) {
+        // every stock in a tick shares its time, so this formats once per tick
+        if (!time.equals(lastTime)) {
+            lastTime = time;
+            lastTimeBytes = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time).getBytes(StandardCharsets.US_ASCII);
+        }
+        return lastTimeBytes;
+    }
+
+    // written with all four decimals, as BigDecimal.toString does for a fixed-point price
+    private void writePrice(long scaled) {
+        if (scaled < 0) {
+            buffer[position++] = '-';
+            scaled = -scaled;
+        }
+        writeLong(scaled / FixedPoint.ONE);
+        buffer[position++] = '.';
+        var fraction = scaled % FixedPoint.ONE;
+        for (var divisor = FixedPoint.ONE / 10; divisor > 0; divisor /= 10) {
+            buffer[position++] = (byte) ('0' + fraction / divisor % 10);
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        var start = position;
+        do {
+            buffer[position++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        // digits were written least significant first
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            var digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(int additional) {
+        // one more byte for the closing bracket added by array()
+        if (position + additional + 1 > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional + 1));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.engine.LatestPrices;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Broadcasts tick prices to {@code /topic/stocks} and {@code /topic/stock/{id}}.
+ * <p>
+ * Prices are conflated over the configured send window: only the latest price of a stock
+ * within the window is kept, and only stocks whose price moved during the window are
+ * broadcast. {@code /topic/stocks} therefore carries deltas rather than the whole catalog,
+ * and destinations without subscribers are skipped. Every frame carries the sequence of its
+ * latest tick in the {@link WireFormat#SEQUENCE_HEADER} header. Each update is encoded to JSON
+ * once per flush by a {@link StockUpdateEncoder}, and once more in the binary layout when
+ * binary subscribers exist (see {@link WireFormat}). Only the tick thread may call {@link #publish}.
+ */
+@Component
+public class StockUpdatePublisher {
+    public static final String STOCKS_TOPIC = "/topic/stocks";
+    public static final String STOCK_TOPIC_PREFIX = "/topic/stock/";
+    private static final String BINARY_STOCKS_TOPIC = WireFormat.binary(STOCKS_TOPIC);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SubscriptionRegistry subscriptionRegistry;
+    private final long windowNanos;
+    private final StockUpdateEncoder encoder = new StockUpdateEncoder();
+    private final BinaryMarketDataEncoder binaryEncoder = new BinaryMarketDataEncoder();
+
+    private long[] pending = new long[0];
+    private long[] sent = new long[0];
+    private LocalDateTime[] times = new LocalDateTime[0];
+    // stock ids with a pending price that has not been sent, and a flag per id to dedupe them
+    private int[] changed = new int[0];
+    private boolean[] isChanged = new boolean[0];
+    private int changedCount;
+    private long lastFlush;
+    private long sequence;
+
+    public StockUpdatePublisher(SimpMessagingTemplate messagingTemplate, SubscriptionRegistry subscriptionRegistry,
+                                StockxProperties properties) {
+        this.messagingTemplate = messagingTemplate;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.windowNanos = properties.getPublish().getWindow().toNanos();
+        this.lastFlush = System.nanoTime() - windowNanos;
+    }
+
+    /**
+     * Queues the prices of the tick published as {@code sequence}, flushing if the window has passed.
+     */
+    public void publish(TickBatch batch, long sequence) {
+        this.sequence = sequence;
+        var stockIds = batch.getStockIds();
+        ensureCapacity(Arrays.stream(stockIds).max().orElse(-1));
+
+        var prices = batch.getPrices();
+        for (int i = 0; i < batch.size(); i++) {
+            var id = (int) stockIds[i];
+            pending[id] = prices[i];
+            times[id] = batch.getTime();
+            var isDelta = prices[i] != sent[id];
+            if (isDelta && !isChanged[id]) {
+                isChanged[id] = true;
+                changed[changedCount++] = id;
+            }
+        }
+
+        var now = System.nanoTime();
+        if (now - lastFlush >= windowNanos) {
+            lastFlush = now;
+            flush();
+        }
+    }
+
+    private void flush() {
+        var sendAll = subscriptionRegistry.hasSubscribers(STOCKS_TOPIC);
+        var sendAllBinary = subscriptionRegistry.hasSubscribers(BINARY_STOCKS_TOPIC);
+        encoder.reset();
+        binaryEncoder.reset();
+
+        for (int i = 0; i < changedCount; i++) {
+            var id = changed[i];
+            isChanged[id] = false;
+            // sent even if it moved back within the window, as a snapshot may have shown the move
+            sent[id] = pending[id];
+
+            var destination = STOCK_TOPIC_PREFIX + id;
+            var sendOne = subscriptionRegistry.hasSubscribers(destination);
+            if (sendOne || sendAll) {
+                var index = encoder.add(id, pending[id], times[id]);
+                if (sendOne) {
+                    send(destination, encoder.element(index), MimeTypeUtils.APPLICATION_JSON);
+                }
+            }
+
+            var binaryDestination = WireFormat.binary(destination);
+            var sendOneBinary = subscriptionRegistry.hasSubscribers(binaryDestination);
+            if (sendOneBinary || sendAllBinary) {
+                var index = binaryEncoder.add(id, pending[id], times[id]);
+                if (sendOneBinary) {
+                    send(binaryDestination, binaryEncoder.element(index), WireFormat.BINARY_CONTENT_TYPE);
+                }
+            }
+        }
+        changedCount = 0;
+
+        if (sendAll && encoder.size() > 0) {
+            send(STOCKS_TOPIC, encoder.array(), MimeTypeUtils.APPLICATION_JSON);
+        }
+        if (sendAllBinary && binaryEncoder.size() > 0) {
+            send(BINARY_STOCKS_TOPIC, binaryEncoder.array(), WireFormat.BINARY_CONTENT_TYPE);
+        }
+    }
+
+    // the payload is already encoded, so it bypasses the message converter
+    private void send(String destination, byte[] payload, MimeType contentType) {
+        messagingTemplate.send(destination, WireFormat.message(payload, contentType, sequence));
+    }
+
+    private void ensureCapacity(long maxStockId) {
+        if (maxStockId < pending.length) {
+            return;
+        }
+        pending = LatestPrices.copyOf(pending, maxStockId);
+        sent = LatestPrices.copyOf(sent, maxStockId);
+        var length = pending.length;
+        times = Arrays.copyOf(times, length);
+        changed = Arrays.copyOf(changed, length);
+        isChanged = Arrays.copyOf(isChanged, length);
+    }
+}
@@ -0,0 +1,134 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads just enough of an encoded STOMP frame to conflate broker messages: the subscription
+ * and destination headers of MESSAGE frames, and the body of the delta stock feeds.
+ */
+final class StompFrames {
+    private static final byte[] MESSAGE = "MESSAGE\n".getBytes(StandardCharsets.US_ASCII);
+    private static final String DESTINATION = "destination:";
+    private static final String SUBSCRIPTION = "subscription:";
+    private static final String CONTENT_LENGTH = "content-length:";
+    private static final String TOPIC_PREFIX = "/topic/";
+    private static final String BINARY_STOCKS_TOPIC = WireFormat.binary(StockUpdatePublisher.STOCKS_TOPIC);
+
+    /**
+     * Frames with equal keys carry successive values of the same stream to the same subscription.
+     */
+    record Key(String subscription, String destination) {
+        /**
+         * Whether each frame only carries the stocks that changed, so frames must be merged
+         * rather than replaced.
+         */
+        boolean isDelta() {
+            return destination.equals(StockUpdatePublisher.STOCKS_TOPIC) || destination.equals(BINARY_STOCKS_TOPIC);
+        }
+    }
+
+    private StompFrames() {
+    }
+
+    /**
+     * Key of a broker MESSAGE frame, or null for frames that must never be conflated.
+     */
+    static Key key(WebSocketMessage<?> message) {
+        var frame = bytes(message);
+        if (!startsWith(frame, MESSAGE)) {
+            return null;
+        }
+
+        String destination = null;
+        String subscription = null;
+        var start = MESSAGE.length;
+        int end;
+        while ((end = lineEnd(frame, start)) > start) {
+            var line = new String(frame, start, end - start, StandardCharsets.UTF_8);
+            if (line.startsWith(DESTINATION)) {
+                destination = line.substring(DESTINATION.length());
+            } else if (line.startsWith(SUBSCRIPTION)) {
+                subscription = line.substring(SUBSCRIPTION.length());
+            }
+            start = end + 1;
+        }
+
+        if (destination == null || subscription == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        return new Key(subscription, destination);
+    }
+
+    /**
+     * Frame with {@code newer}'s headers and the bodies of both delta frames merged.
+     */
+    static WebSocketMessage<?> merge(Key key, WebSocketMessage<?> older, WebSocketMessage<?> newer) {
+        var olderBody = body(bytes(older));
+        var newerFrame = bytes(newer);
+        var newerBody = body(newerFrame);
+        var body = key.destination().equals(BINARY_STOCKS_TOPIC)
+                ? BinaryMarketDataEncoder.mergePrices(olderBody, newerBody)
+                : StockUpdateEncoder.merge(olderBody, newerBody);
+
+        var merged = new ByteArrayOutputStream(newerFrame.length + olderBody.length);
+        var start = 0;
+        int end;
+        while ((end = lineEnd(newerFrame, start)) > start) {
+            var line = new String(newerFrame, start, end - start, StandardCharsets.UTF_8);
+            if (line.startsWith(CONTENT_LENGTH)) {
+                line = CONTENT_LENGTH + body.length;
+            }
+            merged.writeBytes(line.getBytes(StandardCharsets.UTF_8));
+            merged.write('\n');
+            start = end + 1;
+        }
+        merged.write('\n');
+        merged.writeBytes(body);
+        merged.write(0);
+
+        return newer instanceof BinaryMessage
+                ? new BinaryMessage(merged.toByteArray())
+                : new TextMessage(merged.toByteArray());
+    }
+
+    private static byte[] body(byte[] frame) {
+        // headers end at the first empty line and the body runs up to the closing NUL
+        var start = 0;
+        int end;
+        while ((end = lineEnd(frame, start)) > start) {
+            start = end + 1;
+        }
+        return Arrays.copyOfRange(frame, start + 1, frame.length - 1);
+    }
+
+    private static byte[] bytes(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            return text.asBytes();
+        }
+        if (message instanceof BinaryMessage binary) {
+            var payload = binary.getPayload().duplicate();
+            var bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            return bytes;
+        }
+        return new byte[0];
+    }
+
+    private static int lineEnd(byte[] frame, int start) {
+        var end = start;
+        while (end < frame.length && frame[end] != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean startsWith(byte[] frame, byte[] prefix) {
+        return frame.length >= prefix.length && Arrays.equals(frame, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
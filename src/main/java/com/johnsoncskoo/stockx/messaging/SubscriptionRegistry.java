@@ -0,0 +1,78 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Number of STOMP subscriptions per destination, so publishers can skip destinations
+ * nobody listens to. Updated from the broker's session events.
+ */
+@Component
+public class SubscriptionRegistry {
+    private final Map<String, Integer> subscribers = new ConcurrentHashMap<>();
+    // session id -> subscription id -> destination
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    public boolean hasSubscribers(String destination) {
+        return subscribers.containsKey(destination);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        var accessor = StompHeaderAccessor.wrap(event.getMessage());
+        // the event carries the frame as received, before WireFormatInterceptor moved it
+        subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), WireFormat.resolve(accessor));
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        var accessor = StompHeaderAccessor.wrap(event.getMessage());
+        unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    void subscribe(String sessionId, String subscriptionId, String destination) {
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+        var previous = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        subscribers.merge(destination, 1, Integer::sum);
+    }
+
+    void unsubscribe(String sessionId, String subscriptionId) {
+        var subscriptions = sessionId == null ? null : sessions.get(sessionId);
+        if (subscriptions == null || subscriptionId == null) {
+            return;
+        }
+        var destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            decrement(destination);
+        }
+    }
+
+    void disconnect(String sessionId) {
+        var subscriptions = sessionId == null ? null : sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    private void decrement(String destination) {
+        subscribers.computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,115 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import com.johnsoncskoo.stockx.engine.TickFeedMessage;
+import com.johnsoncskoo.stockx.store.KeyValueStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Shares ticks between cluster nodes. The generator publishes every tick once to the tick
+ * channel; each follower buffers what it receives and applies it on its own tick thread, so
+ * every node fans out to its own WebSocket sessions. The feed has a single publisher and
+ * ordered delivery, and stale or repeated sequences are dropped, so each stock's prices are
+ * applied in the order they were generated. Outside cluster mode every call is a no-op.
+ */
+@Slf4j
+@Component
+public class TickFeed {
+    private final KeyValueStore keyValueStore;
+    private final StockxProperties.Cluster cluster;
+    private final BlockingQueue<TickFeedMessage> received;
+
+    private final Timer lag;
+    private final Counter gaps;
+
+    // generator side, tick thread only
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private long published;
+
+    // follower side, tick thread only
+    private long lastEpoch;
+    private long lastSequence = -1;
+
+    public TickFeed(KeyValueStore keyValueStore, StockxProperties properties, MeterRegistry meterRegistry) {
+        this.keyValueStore = keyValueStore;
+        this.cluster = properties.getCluster();
+        this.received = new ArrayBlockingQueue<>(cluster.getFeedCapacity());
+
+        var nodeId = cluster.getNodeId() != null ? cluster.getNodeId() : UUID.randomUUID().toString();
+        this.lag = Timer.builder("stockx.cluster.feed.lag")
+                .description("Delay between a tick being published and this node fanning it out")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        this.gaps = Counter.builder("stockx.cluster.feed.gaps")
+                .description("Ticks this node never applied because they were lost or dropped")
+                .tag("node", nodeId)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (cluster.isGeneratorNode()) {
+            return;
+        }
+        keyValueStore.subscribe(cluster.getTickChannel(), message -> {
+            if (message instanceof TickFeedMessage tick) {
+                receive(tick);
+            }
+        });
+        log.info("Following ticks on channel {}", cluster.getTickChannel());
+    }
+
+    public boolean isGenerator() {
+        return cluster.isGeneratorNode();
+    }
+
+    public void publish(TickBatch batch) {
+        if (!cluster.isEnabled()) {
+            return;
+        }
+        keyValueStore.publish(cluster.getTickChannel(),
+                new TickFeedMessage(epoch, published++, System.currentTimeMillis(), batch));
+    }
+
+    /**
+     * Applies every tick received since the last call, oldest first.
+     */
+    public void drain(Consumer<TickBatch> apply) {
+        TickFeedMessage message;
+        while ((message = received.poll()) != null) {
+            if (message.epoch() != lastEpoch) {
+                // the generator restarted and counts from zero again
+                lastEpoch = message.epoch();
+                lastSequence = message.sequence() - 1;
+            }
+            if (message.sequence() <= lastSequence) {
+                continue;
+            }
+            gaps.increment(message.sequence() - lastSequence - 1);
+            lastSequence = message.sequence();
+
+            apply.accept(message.batch());
+            lag.record(Math.max(0, System.currentTimeMillis() - message.publishedAt()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // called on the subscriber thread; a full buffer drops its oldest tick, which drain counts as a gap
+    void receive(TickFeedMessage message) {
+        while (!received.offer(message)) {
+            received.poll();
+        }
+    }
+}
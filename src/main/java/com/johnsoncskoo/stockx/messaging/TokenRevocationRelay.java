@@ -0,0 +1,55 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.config.TokenCacheConfig;
+import com.johnsoncskoo.stockx.config.TokenSigner;
+import com.johnsoncskoo.stockx.dto.TokenRevocation;
+import com.johnsoncskoo.stockx.dto.UserResponse;
+import com.johnsoncskoo.stockx.store.KeyValueStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ends a session token on every node. Signed tokens are added to each node's revocation
+ * list and opaque tokens are dropped from each node's token cache. In cluster mode the
+ * revocation is published on the revocation channel; pub/sub does not replay, so a node
+ * that was down when a signed token was revoked accepts it again until it expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRelay {
+    private final TokenSigner tokenSigner;
+    private final Cache<String, UserResponse> tokenCache;
+    private final KeyValueStore keyValueStore;
+    private final StockxProperties properties;
+
+    @PostConstruct
+    public void subscribe() {
+        var cluster = properties.getCluster();
+        if (!cluster.isEnabled()) {
+            return;
+        }
+        keyValueStore.subscribe(cluster.getRevocationChannel(), message -> {
+            if (message instanceof TokenRevocation revocation) {
+                revokeLocally(revocation.getToken());
+            }
+        });
+    }
+
+    public void revoke(String token) {
+        revokeLocally(token);
+        if (properties.getCluster().isEnabled()) {
+            keyValueStore.publish(properties.getCluster().getRevocationChannel(), new TokenRevocation(token));
+        }
+    }
+
+    private void revokeLocally(String token) {
+        if (tokenSigner.isEnabled()) {
+            tokenSigner.revoke(token);
+        } else {
+            tokenCache.put(token, TokenCacheConfig.UNKNOWN_TOKEN);
+        }
+    }
+}
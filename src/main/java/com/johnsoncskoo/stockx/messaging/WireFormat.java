@@ -0,0 +1,72 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * How a subscription wants its market data encoded. JSON is the default; a client opts into
+ * the binary layout of {@link BinaryMarketDataEncoder} by sending {@code x-wire-format: binary}
+ * with its SUBSCRIBE. Binary subscribers are moved to a parallel {@code /topic/binary/...}
+ * destination, so each encoding is produced once per destination rather than per session.
+ * Binary frames need a native WebSocket connection (e.g. {@code /ws/websocket}); SockJS only
+ * carries text, so SockJS sessions are marked with {@link #TEXT_ONLY_ATTRIBUTE} when they
+ * connect and stay on JSON whatever they ask for.
+ */
+public final class WireFormat {
+    public static final String HEADER = "x-wire-format";
+    public static final String BINARY = "binary";
+    // tick sequence of every market data frame, matching StockSnapshotDto.sequence
+    public static final String SEQUENCE_HEADER = "x-sequence";
+    // octet-stream is what makes the STOMP handler send a binary WebSocket frame
+    public static final MimeType BINARY_CONTENT_TYPE = MimeTypeUtils.APPLICATION_OCTET_STREAM;
+
+    // session attribute set on connections that cannot carry binary frames
+    public static final String TEXT_ONLY_ATTRIBUTE = WireFormat.class.getName() + ".textOnly";
+
+    private static final String TOPIC_PREFIX = "/topic/";
+    private static final String BINARY_TOPIC_PREFIX = "/topic/binary/";
+
+    private WireFormat() {
+    }
+
+    /**
+     * Destination the binary encoding of {@code destination} is published to.
+     */
+    public static String binary(String destination) {
+        return BINARY_TOPIC_PREFIX + destination.substring(TOPIC_PREFIX.length());
+    }
+
+    /**
+     * Destination a SUBSCRIBE frame should be registered under, given its wire format header
+     * and whether its session can carry binary frames.
+     */
+    public static String resolve(StompHeaderAccessor accessor) {
+        var destination = accessor.getDestination();
+        var attributes = accessor.getSessionAttributes();
+        if (destination == null
+                || !BINARY.equalsIgnoreCase(accessor.getFirstNativeHeader(HEADER))
+                || attributes != null && Boolean.TRUE.equals(attributes.get(TEXT_ONLY_ATTRIBUTE))
+                || !destination.startsWith(TOPIC_PREFIX)
+                || destination.startsWith(BINARY_TOPIC_PREFIX)) {
+            return destination;
+        }
+        return binary(destination);
+    }
+
+    /**
+     * Message carrying an already encoded payload of tick {@code sequence}, to be sent without
+     * a message converter.
+     */
+    public static Message<byte[]> message(byte[] payload, MimeType contentType, long sequence) {
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(contentType);
+        accessor.setNativeHeader(SEQUENCE_HEADER, Long.toString(sequence));
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,34 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Moves subscriptions that ask for the binary wire format to their binary destination
+ * before they reach the broker.
+ */
+@Component
+public class WireFormatInterceptor implements ChannelInterceptor {
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        var accessor = StompHeaderAccessor.wrap(message);
+        if (accessor.getCommand() != StompCommand.SUBSCRIBE) {
+            return message;
+        }
+
+        var destination = WireFormat.resolve(accessor);
+        if (Objects.equals(destination, accessor.getDestination())) {
+            return message;
+        }
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+}
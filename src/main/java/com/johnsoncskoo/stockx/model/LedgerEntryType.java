@@ -0,0 +1,7 @@
+package com.johnsoncskoo.stockx.model;
+
+public enum LedgerEntryType {
+    DEPOSIT,
+    BUY,
+    SELL
+}
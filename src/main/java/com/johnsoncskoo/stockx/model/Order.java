@@ -14,9 +14,7 @@ import java.time.LocalDateTime;
 @Table(name = "orders")
 public class Order extends AuditableEntity {
     @Id
-    @GeneratedValue(
-            strategy = GenerationType.IDENTITY
-    )
+    @PooledSequence("orders_seq")
     private Long id;
 
     @ManyToOne
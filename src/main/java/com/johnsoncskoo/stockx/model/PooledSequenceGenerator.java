@@ -0,0 +1,35 @@
+package com.johnsoncskoo.stockx.model;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator whose allocation size comes from the {@value #ALLOCATION_SIZE_SETTING}
+ * Hibernate setting rather than a constant in the mapping. Each sequence call reserves that
+ * many ids; the sequence itself must increment by the same amount.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String ALLOCATION_SIZE_SETTING = "stockx.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String sequenceName;
+
+    public PooledSequenceGenerator(PooledSequence config) {
+        this.sequenceName = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        var settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(INCREMENT_PARAM,
+                String.valueOf(settings.getOrDefault(ALLOCATION_SIZE_SETTING, DEFAULT_ALLOCATION_SIZE)));
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
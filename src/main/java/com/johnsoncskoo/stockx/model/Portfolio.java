@@ -14,13 +14,16 @@ import java.util.List;
 @Table(name = "portfolios")
 public class Portfolio extends AuditableEntity {
     @Id
-    @GeneratedValue(
-            strategy = GenerationType.IDENTITY
-    )
+    @PooledSequence("portfolios_seq")
     private Long id;
 
     private double balance;
 
+    // checked by every fill, including JDBC settlement, since fills may run on any node
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private long version;
+
     @OneToMany(
             mappedBy = "portfolio",
             cascade = CascadeType.ALL,
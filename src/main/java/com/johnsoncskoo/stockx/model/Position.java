@@ -12,9 +12,7 @@ import lombok.*;
 @Table(name = "positions")
 public class Position extends AuditableEntity {
     @Id
-    @GeneratedValue(
-            strategy = jakarta.persistence.GenerationType.IDENTITY
-    )
+    @PooledSequence("positions_seq")
     private Long id;
 
     @ManyToOne
@@ -14,9 +14,7 @@ import java.time.LocalDateTime;
 @Table(name = "users")
 public class User extends AuditableEntity {
     @Id
-    @GeneratedValue(
-            strategy = GenerationType.IDENTITY
-    )
+    @PooledSequence("users_seq")
     private Long id;
 
     @Column(
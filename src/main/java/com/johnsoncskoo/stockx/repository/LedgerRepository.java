@@ -0,0 +1,181 @@
+package com.johnsoncskoo.stockx.repository;
+
+import com.johnsoncskoo.stockx.dto.LedgerEntry;
+import com.johnsoncskoo.stockx.dto.PortfolioAccount;
+import com.johnsoncskoo.stockx.dto.PositionHolding;
+import com.johnsoncskoo.stockx.model.LedgerEntryType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the append-only {@code ledger_entries} hypertable and the
+ * {@code portfolio_snapshots} table. Entries carry a global sequence number; a snapshot
+ * records the last sequence it includes, so rebuilding replays only what came after it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerRepository {
+    private static final String INSERT_ENTRY_SQL =
+            "INSERT INTO ledger_entries (sequence, time, portfolio_id, order_id, stock_id, type, quantity, " +
+                    "price, cash_delta) VALUES (nextval('ledger_entries_seq'), ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_ENTRIES_SQL =
+            "SELECT time, portfolio_id, order_id, stock_id, type, quantity, price, cash_delta FROM ledger_entries " +
+                    "WHERE portfolio_id = ? AND sequence > ? ORDER BY sequence";
+    private static final String SELECT_FILLS_SQL =
+            "SELECT time, portfolio_id, order_id, stock_id, type, quantity, price, cash_delta FROM ledger_entries " +
+                    "WHERE portfolio_id = ? AND type <> ? ORDER BY sequence DESC LIMIT ? OFFSET ?";
+    private static final String COUNT_FILLS_SQL =
+            "SELECT COUNT(*) FROM ledger_entries WHERE portfolio_id = ? AND type <> ?";
+    private static final String SELECT_LAST_SEQUENCE_SQL =
+            "SELECT COALESCE(MAX(sequence), 0) FROM ledger_entries WHERE portfolio_id = ?";
+    private static final String SELECT_MAX_SEQUENCE_SQL =
+            "SELECT COALESCE(MAX(sequence), 0) FROM ledger_entries";
+    private static final String INSERT_SNAPSHOT_SQL =
+            "INSERT INTO portfolio_snapshots (portfolio_id, time, last_sequence, balance, stock_ids, quantities, " +
+                    "average_costs) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_SNAPSHOT_SQL =
+            "SELECT last_sequence, balance, stock_ids, quantities, average_costs FROM portfolio_snapshots " +
+                    "WHERE portfolio_id = ? ORDER BY last_sequence DESC LIMIT 1";
+    private static final String SELECT_STALE_PORTFOLIOS_SQL =
+            "SELECT DISTINCT e.portfolio_id FROM ledger_entries e WHERE e.sequence > ? AND e.sequence > COALESCE(" +
+                    "(SELECT MAX(s.last_sequence) FROM portfolio_snapshots s WHERE s.portfolio_id = e.portfolio_id), 0)";
+    private static final String SELECT_UNSNAPSHOTTED_PORTFOLIOS_SQL =
+            "SELECT p.id FROM portfolios p WHERE NOT EXISTS " +
+                    "(SELECT 1 FROM portfolio_snapshots s WHERE s.portfolio_id = p.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(List<LedgerEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries.stream()
+                .map(entry -> new Object[]{
+                        Timestamp.valueOf(entry.getTime()),
+                        entry.getPortfolioId(),
+                        entry.getOrderId(),
+                        entry.getStockId(),
+                        entry.getType().ordinal(),
+                        entry.getQuantity(),
+                        entry.getPrice(),
+                        entry.getCashDelta()})
+                .toList());
+    }
+
+    public List<LedgerEntry> findEntriesAfter(long portfolioId, long sequence) {
+        return jdbcTemplate.query(SELECT_ENTRIES_SQL, (rs, rowNum) -> toEntry(rs), portfolioId, sequence);
+    }
+
+    /**
+     * Buy and sell entries of {@code portfolioId}, newest first; served by the portfolio index.
+     */
+    public List<LedgerEntry> findFills(long portfolioId, int limit, long offset) {
+        return jdbcTemplate.query(SELECT_FILLS_SQL, (rs, rowNum) -> toEntry(rs),
+                portfolioId, LedgerEntryType.DEPOSIT.ordinal(), limit, offset);
+    }
+
+    public long countFills(long portfolioId) {
+        return jdbcTemplate.queryForObject(COUNT_FILLS_SQL, Long.class, portfolioId, LedgerEntryType.DEPOSIT.ordinal());
+    }
+
+    public long findLastSequence(long portfolioId) {
+        return jdbcTemplate.queryForObject(SELECT_LAST_SEQUENCE_SQL, Long.class, portfolioId);
+    }
+
+    /**
+     * Highest sequence in the whole ledger.
+     */
+    public long findLastSequence() {
+        return jdbcTemplate.queryForObject(SELECT_MAX_SEQUENCE_SQL, Long.class);
+    }
+
+    public void saveSnapshot(PortfolioAccount account, long lastSequence, LocalDateTime time) {
+        var holdings = account.getPositions().values().stream()
+                .filter(holding -> holding.getQuantity() > 0)
+                .toList();
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(INSERT_SNAPSHOT_SQL);
+            statement.setLong(1, account.getPortfolioId());
+            statement.setTimestamp(2, Timestamp.valueOf(time));
+            statement.setLong(3, lastSequence);
+            statement.setDouble(4, account.getBalance());
+            statement.setArray(5, connection.createArrayOf("bigint",
+                    holdings.stream().map(PositionHolding::getStockId).toArray()));
+            statement.setArray(6, connection.createArrayOf("integer",
+                    holdings.stream().map(PositionHolding::getQuantity).toArray()));
+            statement.setArray(7, connection.createArrayOf("float8",
+                    holdings.stream().map(PositionHolding::getAverageCost).toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Latest snapshot of {@code portfolioId} together with the last ledger sequence it covers.
+     */
+    public Optional<Snapshot> findLatestSnapshot(long portfolioId) {
+        return jdbcTemplate.query(SELECT_SNAPSHOT_SQL, (rs, rowNum) -> toSnapshot(portfolioId, rs), portfolioId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Portfolios with ledger entries not yet covered by a snapshot, looking only at entries
+     * after {@code sequence}; zero scans the whole ledger.
+     */
+    public List<Long> findPortfoliosWithUnsnapshottedEntries(long sequence) {
+        return jdbcTemplate.queryForList(SELECT_STALE_PORTFOLIOS_SQL, Long.class, sequence);
+    }
+
+    public List<Long> findPortfoliosWithoutSnapshot() {
+        return jdbcTemplate.queryForList(SELECT_UNSNAPSHOTTED_PORTFOLIOS_SQL, Long.class);
+    }
+
+    private static LedgerEntry toEntry(ResultSet rs) throws SQLException {
+        return LedgerEntry.builder()
+                .time(rs.getTimestamp("time").toLocalDateTime())
+                .portfolioId(rs.getLong("portfolio_id"))
+                .orderId(rs.getObject("order_id", Long.class))
+                .stockId(rs.getObject("stock_id", Long.class))
+                .type(LedgerEntryType.values()[rs.getInt("type")])
+                .quantity(rs.getInt("quantity"))
+                .price(rs.getDouble("price"))
+                .cashDelta(rs.getDouble("cash_delta"))
+                .build();
+    }
+
+    private static Snapshot toSnapshot(long portfolioId, ResultSet rs) throws SQLException {
+        var account = PortfolioAccount.builder()
+                .portfolioId(portfolioId)
+                .balance(rs.getDouble("balance"))
+                .build();
+
+        var stockIds = (Long[]) toArray(rs.getArray("stock_ids"));
+        var quantities = (Integer[]) toArray(rs.getArray("quantities"));
+        var averageCosts = (Double[]) toArray(rs.getArray("average_costs"));
+        for (int i = 0; i < stockIds.length; i++) {
+            account.getPositions().put(stockIds[i], PositionHolding.builder()
+                    .stockId(stockIds[i])
+                    .quantity(quantities[i])
+                    .averageCost(averageCosts[i])
+                    .build());
+        }
+        return new Snapshot(rs.getLong("last_sequence"), account);
+    }
+
+    private static Object toArray(Array array) throws SQLException {
+        try {
+            return array.getArray();
+        } finally {
+            array.free();
+        }
+    }
+
+    public record Snapshot(long lastSequence, PortfolioAccount account) {
+    }
+}
@@ -2,6 +2,7 @@ package com.johnsoncskoo.stockx.repository;
 
 import com.johnsoncskoo.stockx.model.Order;
 import com.johnsoncskoo.stockx.model.OrderStatus;
+import com.johnsoncskoo.stockx.model.OrderType;
 import com.johnsoncskoo.stockx.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -9,6 +10,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +20,8 @@ import java.util.List;
 public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
     List<Order> findAllByStatus(OrderStatus status);
     Page<Order> findAllByUser(User user, Pageable pageable);
+
+    @Query("SELECT o.id, o.stock.id, o.direction, o.limitPrice FROM Order o " +
+            "WHERE o.status = :status AND o.type = :type")
+    List<Object[]> findTriggers(@Param("status") OrderStatus status, @Param("type") OrderType type);
 }
@@ -0,0 +1,164 @@
+package com.johnsoncskoo.stockx.repository;
+
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes tick batches in PostgreSQL's binary COPY format for the columns
+ * {@code (stock_id, time, price, volume)} of {@code stock_price_history}.
+ * <p>
+ * The output buffer is reused between batches, so an instance must not be shared between threads.
+ */
+public class PriceHistoryCopyEncoder {
+    private static final byte[] HEADER = {
+            'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+            0, 0, 0, 0,     // flags
+            0, 0, 0, 0      // header extension length
+    };
+    private static final short FIELD_COUNT = 4;
+    // field count, three 8-byte columns and a NUMERIC of at most 5 digits, with their length prefixes
+    private static final int MAX_ROW_SIZE = 2 + 3 * (4 + 8) + 4 + 8 + 5 * 2;
+    private static final long POSTGRES_EPOCH_MICROS =
+            ChronoUnit.MICROS.between(Instant.EPOCH, Instant.parse("2000-01-01T00:00:00Z"));
+
+    private static final short NUMERIC_POSITIVE = 0x0000;
+    private static final short NUMERIC_NEGATIVE = 0x4000;
+    private static final int NUMERIC_BASE = 10_000;
+
+    private final ZoneId zone;
+    private final short[] digits = new short[8];
+    private byte[] buffer = new byte[64 * 1024];
+    private int position;
+
+    public PriceHistoryCopyEncoder() {
+        this(ZoneId.systemDefault());
+    }
+
+    public PriceHistoryCopyEncoder(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Encodes the whole batch, returning the number of valid bytes in {@link #buffer()}.
+     */
+    public int encode(TickBatch batch) {
+        return encode(List.of(batch));
+    }
+
+    /**
+     * Encodes all batches into one COPY stream, returning the number of valid bytes in {@link #buffer()}.
+     */
+    public int encode(List<TickBatch> batches) {
+        var rows = batches.stream().mapToInt(TickBatch::size).sum();
+        position = 0;
+        ensureCapacity(HEADER.length + rows * MAX_ROW_SIZE + 2);
+        writeBytes(HEADER);
+
+        for (var batch : batches) {
+            var micros = toPostgresMicros(batch.getTime());
+            var stockIds = batch.getStockIds();
+            var prices = batch.getPrices();
+            var volumes = batch.getVolumes();
+
+            for (int i = 0; i < batch.size(); i++) {
+                writeShort(FIELD_COUNT);
+                writeInt(8);
+                writeLong(stockIds[i]);
+                writeInt(8);
+                writeLong(micros);
+                writeNumeric(prices[i]);
+                writeInt(8);
+                writeLong(volumes[i]);
+            }
+        }
+
+        writeShort((short) -1);
+        return position;
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    private long toPostgresMicros(LocalDateTime time) {
+        var instant = time.atZone(zone).toInstant();
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000 - POSTGRES_EPOCH_MICROS;
+    }
+
+    // NUMERIC is sent as base-10000 digits; a fixed-point price's 4 decimals are exactly one such digit
+    private void writeNumeric(long scaled) {
+        var sign = scaled < 0 ? NUMERIC_NEGATIVE : NUMERIC_POSITIVE;
+        var magnitude = Math.abs(scaled);
+        var fraction = (short) (magnitude % FixedPoint.ONE);
+        var integer = magnitude / FixedPoint.ONE;
+
+        // integer digits, least significant first
+        int integerDigits = 0;
+        while (integer > 0) {
+            digits[integerDigits++] = (short) (integer % NUMERIC_BASE);
+            integer /= NUMERIC_BASE;
+        }
+
+        var weight = (short) (integerDigits - 1);
+        var count = integerDigits + (fraction != 0 ? 1 : 0);
+
+        // trailing zero integer digits can be dropped when there is no fraction
+        int lowest = 0;
+        if (fraction == 0) {
+            while (lowest < integerDigits && digits[lowest] == 0) {
+                lowest++;
+                count--;
+            }
+        }
+        if (integerDigits == 0 && fraction != 0) {
+            weight = -1;
+        }
+
+        writeInt(8 + count * 2);
+        writeShort((short) count);
+        writeShort(count == 0 ? 0 : weight);
+        writeShort(sign);
+        writeShort((short) FixedPoint.SCALE);
+        for (int i = integerDigits - 1; i >= lowest; i--) {
+            writeShort(digits[i]);
+        }
+        if (fraction != 0) {
+            writeShort(fraction);
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeShort(short value) {
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeInt(int value) {
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+}
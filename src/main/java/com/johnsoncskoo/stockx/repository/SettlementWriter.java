@@ -0,0 +1,127 @@
+package com.johnsoncskoo.stockx.repository;
+
+import com.johnsoncskoo.stockx.dto.PortfolioAccount;
+import com.johnsoncskoo.stockx.dto.PositionHolding;
+import com.johnsoncskoo.stockx.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes settlement state with plain JDBC so a whole chunk of fills is written as one
+ * batch per table. Callers provide the transaction. Balance updates are conditional on the
+ * portfolio version that was read, and every fill changes the balance, so a fill committed
+ * elsewhere in the meantime, on this node or another, fails the write instead of being overwritten.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementWriter {
+    private static final String SELECT_PORTFOLIOS_SQL =
+            "SELECT id, balance, version FROM portfolios WHERE id = ANY(?)";
+    private static final String SELECT_POSITIONS_SQL =
+            "SELECT id, portfolio_id, stock_id, quantity, average_cost FROM positions WHERE portfolio_id = ANY(?)";
+    private static final String UPDATE_ORDER_SQL =
+            "UPDATE orders SET status = ?, executed_price = ?, executed_at = ?, last_modified_at = ? WHERE id = ?";
+    private static final String UPDATE_PORTFOLIO_SQL =
+            "UPDATE portfolios SET balance = ?, version = version + 1, last_modified_at = ? " +
+                    "WHERE id = ? AND version = ?";
+    private static final String INSERT_POSITION_SQL =
+            "INSERT INTO positions (id, portfolio_id, stock_id, quantity, average_cost, created_at) " +
+                    "VALUES (nextval('positions_seq'), ?, ?, ?, ?, ?)";
+    private static final String UPDATE_POSITION_SQL =
+            "UPDATE positions SET quantity = ?, average_cost = ?, last_modified_at = ? WHERE id = ?";
+    private static final String DELETE_POSITION_SQL =
+            "DELETE FROM positions WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<Long, PortfolioAccount> loadAccounts(Collection<Long> portfolioIds) {
+        var ids = portfolioIds.toArray(Long[]::new);
+        var accounts = new HashMap<Long, PortfolioAccount>(ids.length * 2);
+
+        jdbcTemplate.query(SELECT_PORTFOLIOS_SQL, rs -> {
+            var account = PortfolioAccount.builder()
+                    .portfolioId(rs.getLong("id"))
+                    .balance(rs.getDouble("balance"))
+                    .version(rs.getLong("version"))
+                    .build();
+            accounts.put(account.getPortfolioId(), account);
+        }, (Object) ids);
+
+        jdbcTemplate.query(SELECT_POSITIONS_SQL, rs -> {
+            var holding = PositionHolding.builder()
+                    .positionId(rs.getLong("id"))
+                    .stockId(rs.getLong("stock_id"))
+                    .quantity(rs.getInt("quantity"))
+                    .averageCost(rs.getDouble("average_cost"))
+                    .build();
+            accounts.get(rs.getLong("portfolio_id")).getPositions().put(holding.getStockId(), holding);
+        }, (Object) ids);
+
+        return accounts;
+    }
+
+    /**
+     * Writes the outcome of a chunk of fills: order status and changed balances and positions.
+     * The fills themselves are recorded by the ledger.
+     */
+    public void write(List<Order> orders, Collection<PortfolioAccount> accounts) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(UPDATE_ORDER_SQL, orders.stream()
+                .map(order -> new Object[]{
+                        order.getStatus().ordinal(),
+                        order.getExecutedPrice(),
+                        order.getExecutedAt() != null ? Timestamp.valueOf(order.getExecutedAt()) : null,
+                        now,
+                        order.getId()})
+                .toList());
+
+        var portfolioRows = new ArrayList<Object[]>();
+        var insertRows = new ArrayList<Object[]>();
+        var updateRows = new ArrayList<Object[]>();
+        var deleteRows = new ArrayList<Object[]>();
+        for (var account : accounts) {
+            if (account.isDirty()) {
+                portfolioRows.add(new Object[]{account.getBalance(), now, account.getPortfolioId(),
+                        account.getVersion()});
+            }
+            for (var holding : account.getPositions().values()) {
+                if (!holding.isDirty()) {
+                    continue;
+                }
+                if (holding.getPositionId() == null) {
+                    if (holding.getQuantity() > 0) {
+                        insertRows.add(new Object[]{account.getPortfolioId(), holding.getStockId(),
+                                holding.getQuantity(), holding.getAverageCost(), now});
+                    }
+                } else if (holding.getQuantity() == 0) {
+                    deleteRows.add(new Object[]{holding.getPositionId()});
+                } else {
+                    updateRows.add(new Object[]{holding.getQuantity(), holding.getAverageCost(), now,
+                            holding.getPositionId()});
+                }
+            }
+        }
+
+        var updated = jdbcTemplate.batchUpdate(UPDATE_PORTFOLIO_SQL, portfolioRows);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new OptimisticLockingFailureException(
+                        "Portfolio " + portfolioRows.get(i)[2] + " was changed by a concurrent fill");
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_POSITION_SQL, insertRows);
+        jdbcTemplate.batchUpdate(UPDATE_POSITION_SQL, updateRows);
+        jdbcTemplate.batchUpdate(DELETE_POSITION_SQL, deleteRows);
+    }
+}
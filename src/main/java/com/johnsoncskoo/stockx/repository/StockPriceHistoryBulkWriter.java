@@ -0,0 +1,97 @@
+package com.johnsoncskoo.stockx.repository;
+
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes whole ticks to {@code stock_price_history}, bypassing JPA. Uses binary
+ * {@code COPY ... FROM STDIN} on PostgreSQL and batched multi-row inserts elsewhere.
+ * <p>
+ * Not thread-safe: the COPY encoder buffer is reused between calls.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class StockPriceHistoryBulkWriter {
+    private static final String COPY_SQL =
+            "COPY stock_price_history (stock_id, time, price, volume) FROM STDIN WITH (FORMAT binary)";
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_price_history (stock_id, time, price, volume) VALUES (?, ?, ?, ?)";
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PriceHistoryCopyEncoder encoder = new PriceHistoryCopyEncoder();
+
+    public void write(TickBatch batch) {
+        write(List.of(batch));
+    }
+
+    /**
+     * Writes several ticks in a single COPY (or insert batch).
+     */
+    public void write(List<TickBatch> batches) {
+        var rowCount = batches.stream().mapToInt(TickBatch::size).sum();
+        if (rowCount == 0) {
+            return;
+        }
+
+        var connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copy(connection.unwrap(PGConnection.class), batches);
+                return;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to copy " + rowCount + " price history rows", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        insert(batches, rowCount);
+    }
+
+    private void copy(PGConnection connection, List<TickBatch> batches) throws SQLException {
+        var length = encoder.encode(batches);
+        var copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            copyIn.writeToCopy(encoder.buffer(), 0, length);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void insert(List<TickBatch> batches, int rowCount) {
+        var rows = new ArrayList<Object[]>(rowCount);
+        for (var batch : batches) {
+            var time = Timestamp.valueOf(batch.getTime());
+            for (int i = 0; i < batch.size(); i++) {
+                rows.add(new Object[]{
+                        batch.getStockIds()[i],
+                        time,
+                        FixedPoint.toBigDecimal(batch.getPrices()[i]),
+                        batch.getVolumes()[i]
+                });
+            }
+        }
+
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(from, Math.min(from + INSERT_BATCH_SIZE, rows.size())));
+        }
+    }
+}
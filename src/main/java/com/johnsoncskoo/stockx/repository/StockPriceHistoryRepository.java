@@ -122,6 +122,30 @@ public interface StockPriceHistoryRepository extends JpaRepository<StockPriceHis
             "ORDER BY time DESC LIMIT 1", nativeQuery = true)
     BigDecimal findLatestPrice(@Param("stockId") Long stockId);
 
+    @Query(value = "SELECT DISTINCT ON (stock_id) stock_id, price FROM stock_price_history " +
+            "ORDER BY stock_id, time DESC", nativeQuery = true)
+    List<Object[]> findAllLatestPrices();
+
+    // daily bars per stock from the hourly aggregate, topped up with raw ticks from :cutoff (hour-aligned)
+    // onwards, which the aggregate's refresh policy has not materialized yet
+    @Query(value = "SELECT stock_id, date_trunc('day', bucket) AS day, " +
+            "FIRST(open, bucket), MAX(high), MIN(low), LAST(close, bucket), SUM(volume) " +
+            "FROM (" +
+            "SELECT bucket, stock_id, open, high, low, close, volume FROM stock_price_1hour " +
+            "WHERE bucket >= :startTime AND bucket < :cutoff " +
+            "UNION ALL " +
+            "SELECT time_bucket('1 hour', time) AS bucket, stock_id, " +
+            "FIRST(price, time), MAX(price), MIN(price), LAST(price, time), SUM(volume) " +
+            "FROM stock_price_history " +
+            "WHERE time >= :cutoff " +
+            "GROUP BY 1, 2" +
+            ") hourly " +
+            "GROUP BY stock_id, day " +
+            "ORDER BY stock_id, day", nativeQuery = true)
+    List<Object[]> findDailyBarsSince(
+            @Param("startTime") LocalDateTime startTime,
+            @Param("cutoff") LocalDateTime cutoff);
+
     @Query(value = "SELECT MIN(time) FROM stock_price_history " +
             "WHERE stock_id = :stockId", nativeQuery = true)
     LocalDateTime findEarliestStockHistoryDate(@Param("stockId") Long stockId);
@@ -0,0 +1,102 @@
+package com.johnsoncskoo.stockx.repository;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.dto.StockPriceHistoryCache;
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import com.johnsoncskoo.stockx.engine.TickState;
+import com.johnsoncskoo.stockx.engine.TickStateTable;
+import com.johnsoncskoo.stockx.store.KeyValueStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Key layout for per-stock tick state, one {@code stock:ticks:<id>} key per stock.
+ * Reads and writes are always issued in bulk: one MGET, or one pipeline of SET EX.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TickStateRepository {
+    public static final String STOCK_TICKS_KEY = "stock:ticks:%d";
+
+    private final KeyValueStore keyValueStore;
+    private final StockxProperties properties;
+
+    /**
+     * Loads the state of the given stocks into {@code table}, returning how many were found.
+     */
+    public int findAll(List<Long> stockIds, TickStateTable table) {
+        if (stockIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> values;
+        try {
+            values = keyValueStore.multiGet(stockIds.stream()
+                    .map(TickStateRepository::key)
+                    .toList());
+        } catch (Exception e) {
+            log.error("Error retrieving stock tick state", e);
+            return 0;
+        }
+
+        var state = new TickState();
+        int found = 0;
+        for (int i = 0; i < stockIds.size(); i++) {
+            if (values.get(i) instanceof StockPriceHistoryCache cache && copy(cache, state)) {
+                table.store(stockIds.get(i), state);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Writes every state present in {@code table} in a single pipeline.
+     */
+    public void saveAll(TickStateTable table) {
+        var values = new LinkedHashMap<String, Object>();
+        var state = new TickState();
+
+        var capacity = table.capacity();
+        for (int stockId = 0; stockId < capacity; stockId++) {
+            if (table.load(stockId, state)) {
+                values.put(key(stockId), toCache(state));
+            }
+        }
+
+        try {
+            keyValueStore.setAll(values, properties.getTick().getStateTtl());
+        } catch (Exception e) {
+            log.error("Error storing stock tick state", e);
+        }
+    }
+
+    private static String key(long stockId) {
+        return String.format(STOCK_TICKS_KEY, stockId);
+    }
+
+    private static StockPriceHistoryCache toCache(TickState state) {
+        return StockPriceHistoryCache.builder()
+                .priceChange(FixedPoint.toBigDecimal(state.getPriceChange()))
+                .latestPrice(FixedPoint.toBigDecimal(state.getPrice()))
+                .movementCount(state.getMovementCount())
+                .ticksElapsed(state.getTicksElapsed())
+                .build();
+    }
+
+    private static boolean copy(StockPriceHistoryCache cache, TickState state) {
+        if (cache.getLatestPrice() == null) {
+            return false;
+        }
+        state.reset(FixedPoint.toScaled(cache.getLatestPrice()), cache.getMovementCount(), cache.getTicksElapsed());
+        if (cache.getPriceChange() != null) {
+            state.setPriceChange(FixedPoint.toScaled(cache.getPriceChange()));
+        }
+        return true;
+    }
+}
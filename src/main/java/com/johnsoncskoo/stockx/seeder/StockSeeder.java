@@ -2,6 +2,7 @@ package com.johnsoncskoo.stockx.seeder;
 
 import com.johnsoncskoo.stockx.model.Stock;
 import com.johnsoncskoo.stockx.repository.StockRepository;
+import com.johnsoncskoo.stockx.service.StockCatalogService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -13,6 +14,7 @@ import java.util.Arrays;
 @RequiredArgsConstructor
 public class StockSeeder {
     private final StockRepository stockRepository;
+    private final StockCatalogService stockCatalogService;
 
     @PostConstruct
     public void seedStocks() {
@@ -40,6 +42,7 @@ public class StockSeeder {
         );
 
         stockRepository.saveAll(stockList);
+        stockCatalogService.refresh();
     }
 
     private Stock createStock(String symbol, String name, double basePrice) {
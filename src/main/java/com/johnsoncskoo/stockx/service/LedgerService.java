@@ -0,0 +1,31 @@
+package com.johnsoncskoo.stockx.service;
+
+import com.johnsoncskoo.stockx.dto.LedgerEntry;
+import com.johnsoncskoo.stockx.dto.PortfolioAccount;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface LedgerService {
+    /**
+     * Appends {@code entries} within the caller's transaction.
+     */
+    void append(List<LedgerEntry> entries);
+
+    /**
+     * Snapshots the current state of {@code portfolioId}. Must run on the portfolio's execution lane.
+     */
+    void snapshot(long portfolioId);
+
+    /**
+     * Rebuilds a portfolio from its latest snapshot plus the ledger entries appended after it.
+     */
+    PortfolioAccount rebuild(long portfolioId);
+
+    /**
+     * Buy and sell entries of {@code portfolioId}, newest first.
+     */
+    Page<LedgerEntry> findFills(long portfolioId, Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package com.johnsoncskoo.stockx.service;
+
+import com.johnsoncskoo.stockx.engine.LatestPrices;
+import com.johnsoncskoo.stockx.model.Order;
+
+import java.util.List;
+
+public interface SettlementService {
+    /**
+     * Fills {@code orders} at {@code prices}. Must run on the execution lane that owns every
+     * order's portfolio. Returns the orders whose settlement failed and are still pending.
+     */
+    List<Order> settle(List<Order> orders, LatestPrices prices);
+}
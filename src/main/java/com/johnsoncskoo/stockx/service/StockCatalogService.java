@@ -0,0 +1,8 @@
+package com.johnsoncskoo.stockx.service;
+
+import com.johnsoncskoo.stockx.engine.StockCatalog;
+
+public interface StockCatalogService {
+    StockCatalog getCatalog();
+    void refresh();
+}
@@ -1,6 +1,10 @@
 package com.johnsoncskoo.stockx.service;
 
+import com.johnsoncskoo.stockx.dto.StockSnapshotDto;
+
 public interface StockDataService {
     void generateStockData();
     void getDashboardHCOLData();
+    StockSnapshotDto getSnapshot();
+    StockSnapshotDto getSnapshot(long stockId);
 }
@@ -1,5 +1,6 @@
 package com.johnsoncskoo.stockx.service;
 
+import com.johnsoncskoo.stockx.dto.FillResponse;
 import com.johnsoncskoo.stockx.dto.OrderRequest;
 import com.johnsoncskoo.stockx.dto.OrderResponse;
 import jakarta.servlet.http.HttpSession;
@@ -10,4 +11,5 @@ public interface TradeService {
     OrderResponse submitOrder(String token, OrderRequest request);
     void processTradeEvents();
     Page<OrderResponse> getOrders(String token, PageRequest pageable, String filter);
+    Page<FillResponse> getFills(String token, PageRequest pageable);
 }
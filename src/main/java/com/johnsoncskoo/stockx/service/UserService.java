@@ -10,4 +10,5 @@ public interface UserService {
     UserResponse getUserDto(String token);
     UserResponse validateUserToken(String token);
     boolean isUserValid(String token);
+    void invalidateToken(String token);
 }
@@ -0,0 +1,116 @@
+package com.johnsoncskoo.stockx.service.impl;
+
+import com.johnsoncskoo.stockx.dto.LedgerEntry;
+import com.johnsoncskoo.stockx.dto.PortfolioAccount;
+import com.johnsoncskoo.stockx.dto.PositionHolding;
+import com.johnsoncskoo.stockx.model.LedgerEntryType;
+import com.johnsoncskoo.stockx.repository.LedgerRepository;
+import com.johnsoncskoo.stockx.repository.SettlementWriter;
+import com.johnsoncskoo.stockx.service.LedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerServiceImpl implements LedgerService {
+    // tolerance when auditing a rebuilt balance against the live one
+    private static final double BALANCE_TOLERANCE = 1e-6;
+
+    private final LedgerRepository ledgerRepository;
+    private final SettlementWriter settlementWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void append(List<LedgerEntry> entries) {
+        if (!entries.isEmpty()) {
+            ledgerRepository.append(entries);
+        }
+    }
+
+    @Override
+    public void snapshot(long portfolioId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var live = settlementWriter.loadAccounts(List.of(portfolioId)).get(portfolioId);
+            var lastSequence = ledgerRepository.findLastSequence(portfolioId);
+            var latest = ledgerRepository.findLatestSnapshot(portfolioId);
+            if (live == null || latest.isPresent() && latest.get().lastSequence() >= lastSequence) {
+                return;
+            }
+
+            // audit: the ledger must agree with the live rows before they become the new baseline
+            var rebuilt = replay(latest, portfolioId);
+            if (latest.isPresent() && !matches(rebuilt, live)) {
+                log.warn("Ledger for portfolio {} disagrees with live state: ledger balance {}, live balance {}",
+                        portfolioId, rebuilt.getBalance(), live.getBalance());
+            }
+
+            ledgerRepository.saveSnapshot(live, lastSequence, LocalDateTime.now());
+        });
+    }
+
+    @Override
+    public PortfolioAccount rebuild(long portfolioId) {
+        return replay(ledgerRepository.findLatestSnapshot(portfolioId), portfolioId);
+    }
+
+    @Override
+    public Page<LedgerEntry> findFills(long portfolioId, Pageable pageable) {
+        var fills = ledgerRepository.findFills(portfolioId, pageable.getPageSize(), pageable.getOffset());
+        return new PageImpl<>(fills, pageable, ledgerRepository.countFills(portfolioId));
+    }
+
+    private PortfolioAccount replay(Optional<LedgerRepository.Snapshot> snapshot, long portfolioId) {
+        var account = snapshot.map(LedgerRepository.Snapshot::account)
+                .orElseGet(() -> PortfolioAccount.builder().portfolioId(portfolioId).build());
+        var lastSequence = snapshot.map(LedgerRepository.Snapshot::lastSequence).orElse(0L);
+
+        for (var entry : ledgerRepository.findEntriesAfter(portfolioId, lastSequence)) {
+            apply(account, entry);
+        }
+        return account;
+    }
+
+    static void apply(PortfolioAccount account, LedgerEntry entry) {
+        account.setBalance(account.getBalance() + entry.getCashDelta());
+        if (entry.getType() == LedgerEntryType.DEPOSIT) {
+            return;
+        }
+
+        var holding = account.getPositions().computeIfAbsent(entry.getStockId(),
+                stockId -> PositionHolding.builder().stockId(stockId).build());
+        if (entry.getType() == LedgerEntryType.BUY) {
+            holding.setAverageCost((holding.getAverageCost() * holding.getQuantity()
+                    + entry.getPrice() * entry.getQuantity()) / (holding.getQuantity() + entry.getQuantity()));
+            holding.setQuantity(holding.getQuantity() + entry.getQuantity());
+        } else {
+            holding.setQuantity(holding.getQuantity() - entry.getQuantity());
+        }
+        if (holding.getQuantity() == 0) {
+            account.getPositions().remove(entry.getStockId());
+        }
+    }
+
+    private static boolean matches(PortfolioAccount rebuilt, PortfolioAccount live) {
+        if (Math.abs(rebuilt.getBalance() - live.getBalance()) > BALANCE_TOLERANCE) {
+            return false;
+        }
+        var livePositions = live.getPositions().values().stream().filter(holding -> holding.getQuantity() > 0).toList();
+        if (livePositions.size() != rebuilt.getPositions().size()) {
+            return false;
+        }
+        return livePositions.stream().allMatch(holding -> {
+            var other = rebuilt.getPositions().get(holding.getStockId());
+            return other != null && other.getQuantity() == holding.getQuantity();
+        });
+    }
+}
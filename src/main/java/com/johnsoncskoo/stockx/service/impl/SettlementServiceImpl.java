@@ -0,0 +1,133 @@
+package com.johnsoncskoo.stockx.service.impl;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.dto.LedgerEntry;
+import com.johnsoncskoo.stockx.dto.PortfolioAccount;
+import com.johnsoncskoo.stockx.dto.PositionHolding;
+import com.johnsoncskoo.stockx.engine.LatestPrices;
+import com.johnsoncskoo.stockx.model.Order;
+import com.johnsoncskoo.stockx.model.OrderDirection;
+import com.johnsoncskoo.stockx.model.OrderStatus;
+import com.johnsoncskoo.stockx.repository.SettlementWriter;
+import com.johnsoncskoo.stockx.service.LedgerService;
+import com.johnsoncskoo.stockx.service.SettlementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settles the fills a tick triggers in chunks, each written in one transaction with JDBC
+ * batches. If a chunk fails it is rolled back and its fills are retried one per transaction,
+ * so a single bad fill cannot hold back the rest.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementServiceImpl implements SettlementService {
+    private final SettlementWriter settlementWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerService ledgerService;
+    private final StockxProperties properties;
+
+    @Override
+    public List<Order> settle(List<Order> orders, LatestPrices prices) {
+        var unsettled = new ArrayList<Order>();
+        var batchSize = properties.getExecution().getSettlementBatchSize();
+        for (int from = 0; from < orders.size(); from += batchSize) {
+            var chunk = orders.subList(from, Math.min(from + batchSize, orders.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> settleChunk(chunk, prices));
+            } catch (RuntimeException e) {
+                log.warn("Settlement of {} fills failed, retrying individually: {}", chunk.size(), e.getMessage());
+                for (var order : chunk) {
+                    if (!settleAlone(order, prices)) {
+                        unsettled.add(order);
+                    }
+                }
+            }
+        }
+        return unsettled;
+    }
+
+    private boolean settleAlone(Order order, LatestPrices prices) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> settleChunk(List.of(order), prices));
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to settle order {}", order.getId(), e);
+            return false;
+        }
+    }
+
+    private void settleChunk(List<Order> orders, LatestPrices prices) {
+        var accounts = settlementWriter.loadAccounts(orders.stream()
+                .map(order -> order.getUser().getPortfolio().getId())
+                .distinct()
+                .toList());
+
+        var ledgerEntries = new ArrayList<LedgerEntry>(orders.size());
+        var now = LocalDateTime.now();
+
+        // the outcome is set on every order, so retrying a rolled back order recomputes it
+        for (var order : orders) {
+            var account = accounts.get(order.getUser().getPortfolio().getId());
+
+            // cancel order if user is expired
+            if (order.getUser().isExpired()) {
+                order.setStatus(OrderStatus.CANCELLED);
+                continue;
+            }
+
+            if (!canFill(order, account)) {
+                log.error("Order validation failed: insufficient {} for order {}",
+                        order.getDirection() == OrderDirection.BUY ? "funds" : "shares", order.getId());
+                order.setStatus(OrderStatus.CANCELLED);
+                continue;
+            }
+
+            var price = prices.findPrice(order.getStock().getId()).orElseThrow().doubleValue();
+            fill(order, account, price);
+            order.setExecutedPrice(price);
+            order.setExecutedAt(now);
+            order.setStatus(OrderStatus.COMPLETED);
+
+            ledgerEntries.add(LedgerEntry.ofFill(account.getPortfolioId(), order));
+        }
+
+        settlementWriter.write(orders, accounts.values());
+        ledgerService.append(ledgerEntries);
+    }
+
+    // same rules as order submission: buys must be covered at the limit price
+    private static boolean canFill(Order order, PortfolioAccount account) {
+        if (order.getDirection() == OrderDirection.BUY) {
+            return account.getBalance() >= order.getLimitPrice() * order.getQuantity();
+        }
+        var holding = account.getPositions().get(order.getStock().getId());
+        return holding != null && holding.getQuantity() >= order.getQuantity();
+    }
+
+    private static void fill(Order order, PortfolioAccount account, double price) {
+        var total = price * order.getQuantity();
+        var holding = account.getPositions().computeIfAbsent(order.getStock().getId(),
+                stockId -> PositionHolding.builder().stockId(stockId).build());
+
+        if (order.getDirection() == OrderDirection.BUY) {
+            account.setBalance(account.getBalance() - total);
+            // recalculate average price
+            holding.setAverageCost((holding.getAverageCost() * holding.getQuantity() + total)
+                    / (holding.getQuantity() + order.getQuantity()));
+            holding.setQuantity(holding.getQuantity() + order.getQuantity());
+        } else {
+            account.setBalance(account.getBalance() + total);
+            holding.setQuantity(holding.getQuantity() - order.getQuantity());
+        }
+        account.setDirty(true);
+        holding.setDirty(true);
+    }
+}
@@ -0,0 +1,34 @@
+package com.johnsoncskoo.stockx.service.impl;
+
+import com.johnsoncskoo.stockx.engine.StockCatalog;
+import com.johnsoncskoo.stockx.repository.StockRepository;
+import com.johnsoncskoo.stockx.service.StockCatalogService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Holds the stock list in memory so hot paths never query the stocks table. The catalog
+ * is rebuilt and swapped in atomically whenever stocks are added.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockCatalogServiceImpl implements StockCatalogService {
+    private final StockRepository stockRepository;
+
+    private volatile StockCatalog catalog = StockCatalog.EMPTY;
+
+    @PostConstruct
+    @Override
+    public void refresh() {
+        catalog = new StockCatalog(stockRepository.findAll());
+        log.info("Loaded {} stocks into the stock catalog", catalog.size());
+    }
+
+    @Override
+    public StockCatalog getCatalog() {
+        return catalog;
+    }
+}
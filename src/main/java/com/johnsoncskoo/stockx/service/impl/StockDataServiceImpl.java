@@ -1,274 +1,128 @@
 package com.johnsoncskoo.stockx.service.impl;
 
-import com.johnsoncskoo.stockx.dto.DashboardStockDto;
 import com.johnsoncskoo.stockx.dto.DashboardStockUpdateDto;
-import com.johnsoncskoo.stockx.dto.StockPriceHistoryCache;
-import com.johnsoncskoo.stockx.dto.StockUpdateDto;
+import com.johnsoncskoo.stockx.dto.StockSnapshotDto;
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import com.johnsoncskoo.stockx.engine.LatestPriceIndex;
+import com.johnsoncskoo.stockx.engine.LatestPrices;
+import com.johnsoncskoo.stockx.engine.OhlcAggregator;
+import com.johnsoncskoo.stockx.engine.ShardedTickGenerator;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import com.johnsoncskoo.stockx.engine.TickStateStore;
+import com.johnsoncskoo.stockx.exception.ResourceNotFoundException;
+import com.johnsoncskoo.stockx.messaging.BinaryMarketDataEncoder;
+import com.johnsoncskoo.stockx.messaging.StockUpdatePublisher;
+import com.johnsoncskoo.stockx.messaging.SubscriptionRegistry;
+import com.johnsoncskoo.stockx.messaging.TickFeed;
+import com.johnsoncskoo.stockx.messaging.WireFormat;
 import com.johnsoncskoo.stockx.model.Stock;
-import com.johnsoncskoo.stockx.model.StockPriceHistory;
-import com.johnsoncskoo.stockx.repository.StockPriceHistoryRepository;
-import com.johnsoncskoo.stockx.repository.StockRepository;
+import com.johnsoncskoo.stockx.service.StockCatalogService;
 import com.johnsoncskoo.stockx.service.StockDataService;
+import com.johnsoncskoo.stockx.worker.PriceHistoryWriteBehindWorker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.Duration;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class StockDataServiceImpl implements StockDataService {
-    private final StockRepository stockRepository;
-    private final StockPriceHistoryRepository stockPriceHistoryRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String DASHBOARD_TOPIC = "/topic/dashboard";
+    private static final String BINARY_DASHBOARD_TOPIC = WireFormat.binary(DASHBOARD_TOPIC);
+
+    private final StockCatalogService stockCatalogService;
+    private final PriceHistoryWriteBehindWorker priceHistoryWriteBehindWorker;
+    private final TickStateStore tickStateStore;
     private final SimpMessagingTemplate messagingTemplate;
-    private final Random random = new Random();
+    private final ShardedTickGenerator shardedTickGenerator;
+    private final LatestPriceIndex latestPriceIndex;
+    private final OhlcAggregator ohlcAggregator;
+    private final StockUpdatePublisher stockUpdatePublisher;
+    private final SubscriptionRegistry subscriptionRegistry;
+    private final TickFeed tickFeed;
 
-    private static final String STOCK_TICKS_KEY = "stock:ticks:%d";
+    private final BinaryMarketDataEncoder binaryEncoder = new BinaryMarketDataEncoder();
 
     public void generateStockData() {
-        var stocks = stockRepository.findAll();
-        var now = LocalDateTime.now();
-
-        var priceHistoryList = new ArrayList<StockPriceHistory>();
-        var stockUpdateList = new ArrayList<StockUpdateDto>();
-
-        for (var stock : stocks) {
-
-            BigDecimal latestPrice = null;
-            int movementCount = 0;
-            int ticksElapsed = 0;
-            var cache = getCachedStockPriceHistory(stock.getId());
-
-            // get latest price from cache, or from repository,
-            // or initialize with base price if records not available
-            if (cache != null) {
-                latestPrice = cache.getLatestPrice();
-                ticksElapsed = cache.getTicksElapsed();
-                movementCount = cache.getMovementCount();
-            }
-
-            if (latestPrice == null) {
-                latestPrice = stockPriceHistoryRepository.findLatestPrice(stock.getId());
-            }
-
-            if (latestPrice == null) {
-                latestPrice = stock.getBasePrice();
-            }
-
-            // retrieve latest price change
-            var changes = calculatePriceChange(stock, latestPrice, movementCount, ticksElapsed);
-            movementCount = updateMovement(movementCount, changes.getPriceChange());
-            changes.setMovementCount(movementCount);
-            changes.setLatestPrice(latestPrice.add(changes.getPriceChange()));
+        // followers take their ticks from the generator node instead of generating them
+        if (!tickFeed.isGenerator()) {
+            tickFeed.drain(this::fanOut);
+            return;
+        }
 
-            // store new stock movement in cache
-            storeStockPriceHistoryInCache(stock.getId(), changes);
+        var catalog = stockCatalogService.getCatalog();
+        var now = LocalDateTime.now();
 
-            // add new stock price history record
-            var stockPriceHistory = StockPriceHistory.builder()
-                    .stock(stock)
-                    .price(changes.getLatestPrice())
-                    .time(now)
-                    .volume(100_000L)   // random-ify volume if needed in the future
-                    .build();
-            priceHistoryList.add(stockPriceHistory);
+        // get latest state from the tick state store, or seed it from the latest price index,
+        // or initialize with base price if records not available
+        var batch = shardedTickGenerator.generate(catalog, tickStateStore, this::findInitialPrice, now);
 
-            // add stock update to list
-            var stockUpdate = StockUpdateDto.builder()
-                    .stockId(stock.getId())
-                    .price(changes.getLatestPrice())
-                    .time(now)
-                    .build();
-            stockUpdateList.add(stockUpdate);
-        }
+        priceHistoryWriteBehindWorker.publish(batch);
+        tickFeed.publish(batch);
+        fanOut(batch);
+    }
 
-        stockPriceHistoryRepository.saveAll(priceHistoryList);
+    private void fanOut(TickBatch batch) {
+        // publish to the price index before clients see the tick
+        var sequence = latestPriceIndex.publish(batch).getSequence();
+        ohlcAggregator.update(batch, sequence);
 
-        // push stock updates to WS clients
-        stockUpdateList.forEach(update ->
-                messagingTemplate.convertAndSend("/topic/stock/" + update.getStockId(), update));
-        messagingTemplate.convertAndSend("/topic/stocks/", stockUpdateList);
+        // push changed prices to WS clients
+        stockUpdatePublisher.publish(batch, sequence);
     }
 
     @Override
     public void getDashboardHCOLData() {
-        var stocks = stockRepository.findAll();
-        var now = LocalDateTime.now();
-        var startOfYesterday = LocalDateTime.now()
-                .minusDays(1)
-                .toLocalDate()
-                .atStartOfDay();
-        var startOfToday = LocalDateTime.now()
-                .toLocalDate()
-                .atStartOfDay();
-
-        var stockUpdateList = new ArrayList<DashboardStockDto>();
-
-        // calculate HCOL and price change of each stock
-        for (var stock : stocks) {
-            var dailyHCOL = stockPriceHistoryRepository.findDailyOHLC(
-                    stock, startOfYesterday, startOfToday);
-
-            if (dailyHCOL == null || dailyHCOL.isEmpty()) {
-                continue;
-            }
-
-            var stockUpdate = DashboardStockDto.builder()
-                    .stockId(stock.getId())
-                    .lastUpdatedAt(now)
-                    .high((BigDecimal) dailyHCOL.get(1))
-                    .low((BigDecimal) dailyHCOL.get(2))
-                    .open((BigDecimal) dailyHCOL.get(3))
-                    .close((BigDecimal) dailyHCOL.get(4))
-                    .price((BigDecimal) dailyHCOL.get(5))
-                    .build();
-
-            var priceChange = stockUpdate.getPrice().subtract(stockUpdate.getClose());
-            var priceChangePercentage = BigDecimal.ZERO;
-
-            if (stockUpdate.getClose().compareTo(BigDecimal.ZERO) != 0) {
-                priceChangePercentage = priceChange
-                        .divide(stockUpdate.getClose(), 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100));
-            }
-            stockUpdate.setPriceChange(priceChange);
-            stockUpdate.setPriceChangePercentage(priceChangePercentage);
-            stockUpdateList.add(stockUpdate);
+        var sendJson = subscriptionRegistry.hasSubscribers(DASHBOARD_TOPIC);
+        var sendBinary = subscriptionRegistry.hasSubscribers(BINARY_DASHBOARD_TOPIC);
+        if (!sendJson && !sendBinary) {
+            return;
         }
+        var now = LocalDateTime.now();
+        var dayStats = ohlcAggregator.snapshot();
+        var stocks = dayStats.dashboard(stockCatalogService.getCatalog(), now);
 
         // push daily stock HCOL data to WS clients
-        messagingTemplate.convertAndSend("/topic/dashboard/",
-                DashboardStockUpdateDto.builder().stocks(stockUpdateList).build());
-    }
-
-    private StockPriceHistoryCache calculatePriceChange(Stock stock, BigDecimal latestPrice, int movementCount, int ticksElapsed) {
-
-        // generate random movement:
-        // 1. ±0.5% per tick
-        // 2. for every 10 ticks, chance for ±1% movement
-        // 3. for every 100 ticks, chance for ±3% movement
-        // 4. if same movement for more than 10 ticks, double the chance for opposing movement
-        // 5. price will never be less than 20% of base price
-        // 6. price will never be more than 200% of base price
-        // 7. if price is within 30% of base price, increase chance for +3% movement
-        // 8. if price is within 180% of base price, increase chance for -3% movement
-
-        BigDecimal priceChange = null;
-
-        // Check if the current price is within specific ranges and adjust accordingly
-        if (latestPrice.compareTo(stock.getBasePrice().multiply(BigDecimal.valueOf(0.2))) <= 0) {
-            // Force an increase of 1-3%
-            priceChange = latestPrice.multiply(BigDecimal.valueOf(0.01 + random.nextDouble() * 0.02));
-        } else if (latestPrice.compareTo(stock.getBasePrice().multiply(BigDecimal.valueOf(2))) >= 0) {
-            // Force a decrease of 1-3%
-            priceChange = latestPrice.multiply(BigDecimal.valueOf(0.01 + random.nextDouble() * 0.02)).negate();
-        } else if (latestPrice.compareTo(stock.getBasePrice().multiply(BigDecimal.valueOf(0.3))) <= 0 && random.nextInt(3) == 0) {
-            // Increase chance for +3%
-            priceChange = latestPrice.multiply(BigDecimal.valueOf(random.nextDouble() * 0.03));
-        } else if (latestPrice.compareTo(stock.getBasePrice().multiply(BigDecimal.valueOf(1.8))) >= 0 && random.nextInt(3) == 0) {
-            // Increase chance for -3%
-            priceChange = latestPrice.multiply(BigDecimal.valueOf(random.nextDouble() * 0.03)).negate();
+        if (sendJson) {
+            messagingTemplate.convertAndSend(DASHBOARD_TOPIC, DashboardStockUpdateDto.builder().stocks(stocks).build(),
+                    Map.of(WireFormat.SEQUENCE_HEADER, Long.toString(dayStats.getSequence())));
         }
-
-        if (priceChange != null) {
-            ticksElapsed = 1;
-            return StockPriceHistoryCache.builder()
-                    .priceChange(priceChange)
-                    .ticksElapsed(ticksElapsed)
-                    .build();
-        }
-
-        // chance for ±3% movement at 100 ticks
-        if (ticksElapsed >= 99 && random.nextBoolean()) {
-            priceChange = latestPrice.multiply(BigDecimal.valueOf(random.nextDouble() * 0.03));
-            if (random.nextBoolean()) {
-                priceChange = priceChange.negate();
-            }
-            ticksElapsed = 1;
-
-            return StockPriceHistoryCache.builder()
-                    .priceChange(priceChange)
-                    .ticksElapsed(ticksElapsed)
-                    .build();
-        }
-        // chance for ±1% movement at 10 ticks
-        else if (ticksElapsed >= 10 && ticksElapsed % 10 == 0 && random.nextBoolean()) {
-            priceChange = latestPrice.multiply(BigDecimal.valueOf(random.nextDouble() * 0.01));
-        }
-        // normal price change of ±0.3%
-        else {
-            priceChange = latestPrice.multiply(BigDecimal.valueOf(random.nextDouble() * 0.005));
-        }
-
-        // if movement is the same for more than 10 ticks, double the chance for opposing movement
-        if (movementCount >= 10 && priceChange.compareTo(BigDecimal.ZERO) >= 0 && random.nextBoolean()) {
-            priceChange = priceChange.abs().negate();
-        }
-        else if (movementCount <= -10 && priceChange.compareTo(BigDecimal.ZERO) < 0 && random.nextBoolean()) {
-            priceChange = priceChange.abs();
-        }
-        else if (random.nextBoolean()) {
-            priceChange = priceChange.negate();
-        }
-
-        return StockPriceHistoryCache.builder()
-                .priceChange(priceChange)
-                .ticksElapsed(ticksElapsed)
-                .build();
-    }
-
-    private static int updateMovement(int movementCount, BigDecimal priceChange) {
-        if (movementCount < 0 && priceChange.compareTo(BigDecimal.ZERO) >= 0 ||
-                movementCount > 0 && priceChange.compareTo(BigDecimal.ZERO) < 0) {
-            movementCount = 0;
+        if (sendBinary) {
+            messagingTemplate.send(BINARY_DASHBOARD_TOPIC, WireFormat.message(binaryEncoder.dashboard(stocks, now),
+                    WireFormat.BINARY_CONTENT_TYPE, dayStats.getSequence()));
         }
-        movementCount += priceChange.compareTo(BigDecimal.ZERO) >= 0 ? 1 : -1;
-        return movementCount;
     }
 
-    private StockPriceHistoryCache getCachedStockPriceHistory(long stockId) {
-        var key = String.format(STOCK_TICKS_KEY, stockId);
-        Object value;
-
-        try {
-            value = redisTemplate.opsForValue().get(key);
-        } catch (Exception e) {
-            log.error("Error retrieving stock price history from Redis", e);
-            return null;
-        }
-        if (value == null) {
-            return null;
-        }
-        return value instanceof StockPriceHistoryCache ? (StockPriceHistoryCache) value : null;
+    @Override
+    public StockSnapshotDto getSnapshot() {
+        var dayStats = ohlcAggregator.snapshot();
+        return StockSnapshotDto.builder()
+                .sequence(dayStats.getSequence())
+                .time(dayStats.getTime())
+                .stocks(dayStats.dashboard(stockCatalogService.getCatalog(), dayStats.getTime()))
+                .build();
     }
 
-    private void storeStockPriceHistoryInCache(long stockId, StockPriceHistoryCache stockPriceHistoryCache) {
-        var key = String.format(STOCK_TICKS_KEY, stockId);
-
-        try {
-            redisTemplate.opsForValue().set(key, stockPriceHistoryCache, Duration.ofHours(1));
-        } catch (Exception e) {
-            log.error("Error storing stock price history to Redis", e);
-        }
+    @Override
+    public StockSnapshotDto getSnapshot(long stockId) {
+        var stock = stockCatalogService.getCatalog().findById(stockId)
+                .orElseThrow(() -> ResourceNotFoundException.toException(Stock.class, stockId));
+        var dayStats = ohlcAggregator.snapshot();
+        var dto = dayStats.find(stock, dayStats.getTime());
+        return StockSnapshotDto.builder()
+                .sequence(dayStats.getSequence())
+                .time(dayStats.getTime())
+                .stocks(dto == null ? List.of() : List.of(dto))
+                .build();
     }
 
-    private void removeStockPriceHistoryFromCache(long stockId) {
-        var key = String.format(STOCK_TICKS_KEY, stockId);
-
-        try {
-            redisTemplate.delete(key);
-        } catch (Exception e) {
-            log.error("Error deleting stock price history from Redis", e);
-        }
+    private long findInitialPrice(Stock stock) {
+        var latestPrice = latestPriceIndex.snapshot().scaledPrice(stock.getId());
+        return latestPrice != LatestPrices.NO_PRICE ? latestPrice : FixedPoint.toScaled(stock.getBasePrice());
     }
 }
@@ -1,44 +1,66 @@
 package com.johnsoncskoo.stockx.service.impl;
 
+import com.johnsoncskoo.stockx.dto.FillResponse;
+import com.johnsoncskoo.stockx.dto.LedgerEntry;
 import com.johnsoncskoo.stockx.dto.OrderRequest;
 import com.johnsoncskoo.stockx.dto.OrderResponse;
+import com.johnsoncskoo.stockx.engine.ExecutionSequencer;
+import com.johnsoncskoo.stockx.engine.LatestPriceIndex;
+import com.johnsoncskoo.stockx.engine.OrderTriggerBook;
 import com.johnsoncskoo.stockx.exception.InsufficientFundsException;
 import com.johnsoncskoo.stockx.exception.ResourceNotFoundException;
+import com.johnsoncskoo.stockx.messaging.OrderTriggerRelay;
 import com.johnsoncskoo.stockx.model.*;
 import com.johnsoncskoo.stockx.repository.*;
+import com.johnsoncskoo.stockx.service.LedgerService;
+import com.johnsoncskoo.stockx.service.SettlementService;
+import com.johnsoncskoo.stockx.service.StockCatalogService;
 import com.johnsoncskoo.stockx.service.TradeService;
 import com.johnsoncskoo.stockx.service.UserService;
 import com.johnsoncskoo.stockx.specification.OrderSpecification;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TradeServiceImpl implements TradeService {
+    private static final int MAX_FILL_ATTEMPTS = 3;
 
     private final PortfolioRepository portfolioRepository;
     private final OrderRepository orderRepository;
-    private final StockRepository stockRepository;
     private final PositionRepository positionRepository;
-    private final StockPriceHistoryRepository  stockPriceHistoryRepository;
+    private final LatestPriceIndex latestPriceIndex;
+    private final OrderTriggerBook orderTriggerBook;
+    private final OrderTriggerRelay orderTriggerRelay;
+    private final ExecutionSequencer executionSequencer;
+    private final TransactionTemplate transactionTemplate;
+    private final SettlementService settlementService;
+    private final LedgerService ledgerService;
 
     private final UserService userService;
+    private final StockCatalogService stockCatalogService;
 
     @Override
     public OrderResponse submitOrder(String token, OrderRequest request) {
         var user = userService.getUser(token);
-        var stock = stockRepository.findBySymbol(request.getSymbol())
+        var stock = stockCatalogService.getCatalog().findBySymbol(request.getSymbol())
                 .orElseThrow(() -> ResourceNotFoundException.toException(Stock.class, request.getSymbol()));
-        var stockPrice = stockPriceHistoryRepository.findLatestPrice(stock.getId());
+        var stockPrice = latestPriceIndex.snapshot().findPrice(stock.getId())
+                .orElseThrow(() -> ResourceNotFoundException.toException(StockPriceHistory.class, request.getSymbol()));
 
         var portfolio = user.getPortfolio();
 
@@ -46,34 +68,25 @@ public class TradeServiceImpl implements TradeService {
             throw ResourceNotFoundException.toException(Portfolio.class);
         }
 
-        var order = Order.builder()
-                .user(user)
-                .stock(stock)
-                .status(OrderStatus.PENDING)
-                .direction(request.getDirection())
-                .type(request.getType())
-                .limitPrice(request.getLimitPrice())
-                .quantity(request.getQuantity())
-                .build();
-
-        validateOrder(
-                stock,
-                portfolio,
-                request.getDirection(),
-                // immediately validate current stock price if order type is MARKET
-                request.getType() == OrderType.MARKET ? stockPrice.doubleValue() : request.getLimitPrice(),
-                request.getQuantity(),
-                order);
-
-        var savedOrder = orderRepository.save(order);
+        // validate and fill on the portfolio's execution lane so concurrent fills on this node cannot
+        // interleave; a fill committed by another node fails the portfolio version check and is retried
+        var portfolioId = portfolio.getId();
+        Order savedOrder = null;
+        for (int attempt = 1; savedOrder == null; attempt++) {
+            try {
+                savedOrder = executionSequencer.execute(portfolioId, () -> transactionTemplate.execute(status ->
+                        placeOrder(user, stock, stockPrice, portfolioId, request)));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_FILL_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Portfolio {} changed during order submission, retrying", portfolioId);
+            }
+        }
 
-        // if order is MARKET, execute immediately
-        if (request.getType() == OrderType.MARKET) {
-            executeOrder(stockPrice, order, portfolio, stock);
-            order.setExecutedPrice(stockPrice.doubleValue());
-            order.setExecutedAt(LocalDateTime.now());
-            order.setStatus(OrderStatus.COMPLETED);
-            savedOrder = orderRepository.save(order);
+        // if order is LIMIT, wait for a tick to cross it
+        if (request.getType() == OrderType.LIMIT) {
+            orderTriggerRelay.add(savedOrder);
         }
 
         return OrderResponse.builder()
@@ -91,43 +104,42 @@ public class TradeServiceImpl implements TradeService {
 
     @Override
     public void processTradeEvents() {
-        var orders = orderRepository.findAllByStatus(OrderStatus.PENDING);
+        // evaluate every order in this pass against the same tick
+        var prices = latestPriceIndex.snapshot();
+        var triggered = orderTriggerBook.trigger(prices);
 
-        for (var order : orders) {
-            var stock = order.getStock();
-            var stockPrice = stockPriceHistoryRepository.findLatestPrice(stock.getId());
-            var user = order.getUser();
-
-            // cancel order if user is expired
-            if (user.isExpired()) {
-                order.setStatus(OrderStatus.CANCELLED);
-                orderRepository.save(order);
-                continue;
-            }
+        if (triggered.isEmpty()) {
+            return;
+        }
 
-            // skip order if limit price is not yet met
-            if (stockPrice.doubleValue() > order.getLimitPrice()) {
+        // group fills by execution lane and settle each lane's fills as a batch
+        var fillsByLane = new HashMap<Integer, List<Order>>();
+        for (var order : orderRepository.findAllById(triggered)) {
+            if (order.getStatus() != OrderStatus.PENDING) {
                 continue;
             }
-
             var portfolio = order.getUser().getPortfolio();
-
-            try {
-                validateOrder(stock, portfolio, order.getDirection(), order.getLimitPrice(), order.getQuantity(), order);
-            }
-            catch (Exception e) {
-                log.error("Order validation failed: {}", e.getMessage());
-                order.setStatus(OrderStatus.CANCELLED);
-                orderRepository.save(order);
+            if (portfolio == null) {
+                // still pending in the database, so it must stay in the book
+                orderTriggerBook.add(order);
                 continue;
             }
+            fillsByLane.computeIfAbsent(executionSequencer.laneOf(portfolio.getId()), lane -> new ArrayList<>())
+                    .add(order);
+        }
 
-            // execute order
-            executeOrder(stockPrice, order, portfolio, stock);
-            order.setExecutedPrice(stockPrice.doubleValue());
-            order.setExecutedAt(LocalDateTime.now());
-            order.setStatus(OrderStatus.COMPLETED);
-            orderRepository.save(order);
+        var settlements = fillsByLane.entrySet().stream()
+                .map(lane -> executionSequencer.submitToLane(lane.getKey(),
+                                () -> settlementService.settle(lane.getValue(), prices))
+                        .exceptionally(e -> {
+                            log.error("Failed to settle {} orders", lane.getValue().size(), e);
+                            return lane.getValue();
+                        }))
+                .toList();
+
+        // finish every fill before the next tick triggers more, and put back what did not settle
+        for (var settlement : settlements) {
+            settlement.join().forEach(orderTriggerBook::add);
         }
     }
 
@@ -168,6 +180,67 @@ public class TradeServiceImpl implements TradeService {
                 .build());
     }
 
+    @Override
+    public Page<FillResponse> getFills(String token, PageRequest pageable) {
+        var portfolio = userService.getUser(token).getPortfolio();
+        if (portfolio == null) {
+            throw ResourceNotFoundException.toException(Portfolio.class);
+        }
+
+        // read from the ledger alone; symbols come from the in-memory catalog rather than a join
+        var catalog = stockCatalogService.getCatalog();
+        return ledgerService.findFills(portfolio.getId(), pageable).map(entry -> FillResponse.builder()
+                .orderId(entry.getOrderId())
+                .symbol(catalog.findById(entry.getStockId()).map(Stock::getSymbol).orElse(null))
+                .direction(entry.getType() == LedgerEntryType.BUY ? OrderDirection.BUY : OrderDirection.SELL)
+                .quantity(entry.getQuantity())
+                .price(entry.getPrice())
+                .total(Math.abs(entry.getCashDelta()))
+                .executedAt(entry.getTime())
+                .build());
+    }
+
+    private Order placeOrder(User user, Stock stock, BigDecimal stockPrice, long portfolioId, OrderRequest request) {
+        var current = findPortfolio(portfolioId);
+
+        var order = Order.builder()
+                .user(user)
+                .stock(stock)
+                .status(OrderStatus.PENDING)
+                .direction(request.getDirection())
+                .type(request.getType())
+                .limitPrice(request.getLimitPrice())
+                .quantity(request.getQuantity())
+                .build();
+
+        validateOrder(
+                stock,
+                current,
+                request.getDirection(),
+                // immediately validate current stock price if order type is MARKET
+                request.getType() == OrderType.MARKET ? stockPrice.doubleValue() : request.getLimitPrice(),
+                request.getQuantity(),
+                order);
+
+        var saved = orderRepository.save(order);
+
+        // if order is MARKET, execute immediately
+        if (request.getType() == OrderType.MARKET) {
+            executeOrder(stockPrice, saved, current, stock);
+            saved.setExecutedPrice(stockPrice.doubleValue());
+            saved.setExecutedAt(LocalDateTime.now());
+            saved.setStatus(OrderStatus.COMPLETED);
+            saved = orderRepository.save(saved);
+            ledgerService.append(List.of(LedgerEntry.ofFill(portfolioId, saved)));
+        }
+        return saved;
+    }
+
+    private Portfolio findPortfolio(long portfolioId) {
+        return portfolioRepository.findById(portfolioId)
+                .orElseThrow(() -> ResourceNotFoundException.toException(Portfolio.class, portfolioId));
+    }
+
     private void executeOrder(BigDecimal stockPrice, Order order, Portfolio portfolio, Stock stock) {
         var totalPrice = stockPrice.doubleValue() * order.getQuantity();
         // process BUY request
@@ -175,17 +248,16 @@ public class TradeServiceImpl implements TradeService {
             portfolio.setBalance(portfolio.getBalance() - totalPrice);
 
             var position = portfolio.getPositions()
-                    .stream().filter(pos -> pos.getStock().equals(stock))
+                    .stream().filter(pos -> pos.getStock().getId() == stock.getId())
                     .findFirst();
 
             if (position.isPresent()) {
                 var pos = position.get();
-                pos.setQuantity(pos.getQuantity() + order.getQuantity());
                 // recalculate average price
                 pos.setAverageCost(
                         (pos.getAverageCost() * pos.getQuantity() + stockPrice.doubleValue() * order.getQuantity())
                                 / (pos.getQuantity() + order.getQuantity()));
-
+                pos.setQuantity(pos.getQuantity() + order.getQuantity());
 
                 positionRepository.save(pos);
             }
@@ -197,18 +269,20 @@ public class TradeServiceImpl implements TradeService {
                         .portfolio(portfolio)
                         .build();
 
-                positionRepository.save(newPos);
+                portfolio.getPositions().add(positionRepository.save(newPos));
             }
+            portfolioRepository.save(portfolio);
         }
         // process SELL request
         else {
             var position = portfolio.getPositions()
-                    .stream().filter(pos -> pos.getStock().equals(stock))
+                    .stream().filter(pos -> pos.getStock().getId() == stock.getId())
                     .findFirst();
             if (position.isPresent()) {
                 var pos = position.get();
 
                 if (pos.getQuantity() == order.getQuantity()) {
+                    portfolio.getPositions().remove(pos);
                     positionRepository.delete(pos);
                 }
                 else {
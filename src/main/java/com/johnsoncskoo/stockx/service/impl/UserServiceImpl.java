@@ -1,15 +1,22 @@
 package com.johnsoncskoo.stockx.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.johnsoncskoo.stockx.config.TokenCacheConfig;
+import com.johnsoncskoo.stockx.config.TokenSigner;
 import com.johnsoncskoo.stockx.dto.CreateUserRequest;
+import com.johnsoncskoo.stockx.dto.LedgerEntry;
 import com.johnsoncskoo.stockx.dto.UserResponse;
 import com.johnsoncskoo.stockx.exception.InvalidUsernameException;
 import com.johnsoncskoo.stockx.exception.SessionNotFoundException;
+import com.johnsoncskoo.stockx.messaging.TokenRevocationRelay;
 import com.johnsoncskoo.stockx.model.Portfolio;
 import com.johnsoncskoo.stockx.model.User;
 import com.johnsoncskoo.stockx.repository.PortfolioRepository;
 import com.johnsoncskoo.stockx.repository.UserRepository;
+import com.johnsoncskoo.stockx.service.LedgerService;
 import com.johnsoncskoo.stockx.service.UserService;
 import jakarta.servlet.http.HttpSession;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +25,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -25,10 +33,15 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PortfolioRepository portfolioRepository;
+    private final LedgerService ledgerService;
+    private final Cache<String, UserResponse> tokenCache;
+    private final TokenSigner tokenSigner;
+    private final TokenRevocationRelay tokenRevocationRelay;
 
     private static final int EXPIRATION_HOURS = 24;
 
     @Override
+    @Transactional
     public UserResponse createUser(CreateUserRequest request) {
         if (userRepository.existsByUsernameIgnoreCase(request.getUsername())) {
             throw new InvalidUsernameException("Username already exists");
@@ -49,6 +62,10 @@ public class UserServiceImpl implements UserService {
                 .build();
 
         user = userRepository.save(user);
+        if (tokenSigner.isEnabled()) {
+            // the signed token embeds the id, which is only known once the user is persisted
+            user.setToken(tokenSigner.sign(user.getId(), user.getUsername(), user.getExpiresAt()));
+        }
 
         var portfolio = Portfolio.builder()
                 .user(user)
@@ -57,51 +74,81 @@ public class UserServiceImpl implements UserService {
                 .build();
 
         portfolio = portfolioRepository.save(portfolio);
+        ledgerService.append(List.of(
+                LedgerEntry.ofDeposit(portfolio.getId(), portfolio.getBalance(), LocalDateTime.now())));
 
         return new UserResponse(user.getId(), user.getUsername(), user.getToken(), user.getExpiresAt());
     }
 
     @Override
     public User getUser(String token) {
-        var user = userRepository.findByToken(token);
+        var user = validateUserToken(token);
         if (user == null) {
             throw SessionNotFoundException.toException(token);
         }
-        return user;
+        // loaded rather than a lazy reference, as callers read it outside any transaction
+        return userRepository.findById(user.getId())
+                .orElseThrow(() -> SessionNotFoundException.toException(token));
     }
 
     @Override
     public UserResponse getUserDto(String token) {
-        var user = getUser(token);
+        var user = validateUserToken(token);
         if (user == null) {
             throw SessionNotFoundException.toException(token);
         }
-        return new UserResponse(user.getId(), user.getUsername(), user.getToken(), user.getExpiresAt());
+        return user;
     }
 
     @Override
     public UserResponse validateUserToken(String token) {
-        if (!isUserValid(token)) {
+        if (token == null) {
             return null;
         }
+        if (tokenSigner.isEnabled()) {
+            return tokenSigner.verify(token);
+        }
 
-        var user = userRepository.findByToken(token);
-        if (user == null) {
-            throw SessionNotFoundException.toException(token);
+        var user = tokenCache.get(token, this::loadUser);
+        if (user == TokenCacheConfig.UNKNOWN_TOKEN) {
+            return null;
         }
 
-        return new UserResponse(user.getId(), user.getUsername(), user.getToken(), user.getExpiresAt());
+        // a user that expired while cached is rejected without a DB hit
+        if (user.getExpiresAt() != null && user.getExpiresAt().isBefore(LocalDateTime.now())) {
+            tokenCache.put(token, TokenCacheConfig.UNKNOWN_TOKEN);
+            return null;
+        }
+        return user;
     }
 
     @Override
     public boolean isUserValid(String token) {
-        if (userRepository.existsByToken(token)) {
+        return validateUserToken(token) != null;
+    }
+
+    @Override
+    public void invalidateToken(String token) {
+        if (token == null) {
+            return;
+        }
+        if (!tokenSigner.isEnabled()) {
+            // ending the session in the database keeps the token rejected once cache entries are gone
             var user = userRepository.findByToken(token);
-            if (user != null) {
-                return !user.isExpired();
+            if (user != null && !user.isExpired()) {
+                user.setExpiresAt(LocalDateTime.now());
+                userRepository.save(user);
             }
         }
-        return false;
+        tokenRevocationRelay.revoke(token);
+    }
+
+    private UserResponse loadUser(String token) {
+        var user = userRepository.findByToken(token);
+        if (user == null || user.isExpired()) {
+            return TokenCacheConfig.UNKNOWN_TOKEN;
+        }
+        return new UserResponse(user.getId(), user.getUsername(), user.getToken(), user.getExpiresAt());
     }
 
     private String generateToken(String username) throws NoSuchAlgorithmException {
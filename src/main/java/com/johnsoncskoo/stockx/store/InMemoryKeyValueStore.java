@@ -0,0 +1,112 @@
+package com.johnsoncskoo.stockx.store;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Process-local stand-in for Redis, for single-node deployments, tests and benchmarks.
+ * Values are held by reference, so callers must not mutate a value after storing it.
+ * Expired keys are dropped when read and swept on every write. Published messages are
+ * delivered in order on one background thread, as a Redis subscriber connection would.
+ */
+@Slf4j
+@Component
+@Profile("single-node")
+public class InMemoryKeyValueStore implements KeyValueStore {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "kv-pubsub");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public List<Object> multiGet(List<String> keys) {
+        var now = System.nanoTime();
+        var values = new ArrayList<>(keys.size());
+        for (var key : keys) {
+            var entry = entries.get(key);
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(key, entry);
+                entry = null;
+            }
+            values.add(entry == null ? null : entry.value());
+        }
+        return values;
+    }
+
+    @Override
+    public void setAll(Map<String, Object> values, Duration ttl) {
+        var now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        var expiresAt = now + ttl.toNanos();
+        values.forEach((key, value) -> entries.put(key, new Entry(value, expiresAt)));
+    }
+
+    @Override
+    public void deleteMatching(String pattern) {
+        var regex = toRegex(pattern);
+        entries.keySet().removeIf(key -> regex.matcher(key).matches());
+    }
+
+    @Override
+    public void publish(String channel, Object message) {
+        var subscribers = listeners.get(channel);
+        if (subscribers == null) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            for (var listener : subscribers) {
+                try {
+                    listener.accept(message);
+                } catch (Exception e) {
+                    log.error("Error delivering message on channel {}", channel, e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<Object> listener) {
+        listeners.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    // glob as understood by Redis SCAN MATCH, minus character classes: * and ?
+    static Pattern toRegex(String glob) {
+        var regex = new StringBuilder();
+        for (var c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private record Entry(Object value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
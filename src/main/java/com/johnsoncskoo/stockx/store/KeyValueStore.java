@@ -0,0 +1,36 @@
+package com.johnsoncskoo.stockx.store;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The key/value, TTL and pub/sub operations the app needs from Redis. Backed by Redis by
+ * default and by {@link InMemoryKeyValueStore} under the {@code single-node} profile.
+ */
+public interface KeyValueStore {
+
+    /**
+     * Values for {@code keys} in the same order, with null for missing or expired keys.
+     */
+    List<Object> multiGet(List<String> keys);
+
+    /**
+     * Stores every entry with the same time to live.
+     */
+    void setAll(Map<String, Object> values, Duration ttl);
+
+    /**
+     * Deletes every key matching a glob-style {@code pattern} such as {@code stock:ticks:*}.
+     */
+    void deleteMatching(String pattern);
+
+    void publish(String channel, Object message);
+
+    /**
+     * Delivers every message later published to {@code channel}. Messages from one publisher
+     * arrive in the order they were published.
+     */
+    void subscribe(String channel, Consumer<Object> listener);
+}
@@ -0,0 +1,94 @@
+package com.johnsoncskoo.stockx.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads are one MGET, writes one pipeline of SET EX, and deletes SCAN incrementally.
+ */
+@Component
+@Profile("!single-node")
+@RequiredArgsConstructor
+public class RedisKeyValueStore implements KeyValueStore {
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Override
+    public List<Object> multiGet(List<String> keys) {
+        var values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            var missing = new ArrayList<>(keys.size());
+            keys.forEach(key -> missing.add(null));
+            return missing;
+        }
+        return values;
+    }
+
+    @Override
+    public void setAll(Map<String, Object> values, Duration ttl) {
+        if (values.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                var ops = (RedisOperations<String, Object>) operations;
+                values.forEach((key, value) -> ops.opsForValue().set(key, value, ttl));
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void deleteMatching(String pattern) {
+        // SCAN incrementally instead of KEYS, which blocks the server for the whole keyspace
+        var options = ScanOptions.scanOptions()
+                .match(pattern)
+                .count(SCAN_BATCH_SIZE)
+                .build();
+        var batch = new ArrayList<String>(SCAN_BATCH_SIZE);
+
+        try (var cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == SCAN_BATCH_SIZE) {
+                    redisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.unlink(batch);
+        }
+    }
+
+    @Override
+    public void publish(String channel, Object message) {
+        redisTemplate.convertAndSend(channel, message);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<Object> listener) {
+        var serializer = redisTemplate.getValueSerializer();
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(serializer.deserialize(message.getBody())),
+                new ChannelTopic(channel));
+    }
+}
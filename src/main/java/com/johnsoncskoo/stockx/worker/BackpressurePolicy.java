@@ -0,0 +1,13 @@
+package com.johnsoncskoo.stockx.worker;
+
+/**
+ * What the {@link PriceHistoryWriteBehindWorker} does when its queue is full.
+ */
+public enum BackpressurePolicy {
+    // hold the tick thread until the writer frees a slot
+    BLOCK,
+    // discard the oldest queued tick to make room
+    DROP_OLDEST,
+    // write the tick to the spill directory and replay it once the queue drains
+    SPILL_TO_DISK
+}
@@ -0,0 +1,21 @@
+package com.johnsoncskoo.stockx.worker;
+
+import com.johnsoncskoo.stockx.service.StockDataService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the day's OHLC of every stock once the tick's prices have been generated.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class DashboardWorker implements TickStage {
+    private final StockDataService stockDataService;
+
+    @Override
+    public void onTick() {
+        stockDataService.getDashboardHCOLData();
+    }
+}
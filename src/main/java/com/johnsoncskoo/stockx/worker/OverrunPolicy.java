@@ -0,0 +1,13 @@
+package com.johnsoncskoo.stockx.worker;
+
+/**
+ * What the {@link TickScheduler} does when a tick runs past the start of the next one.
+ */
+public enum OverrunPolicy {
+    // drop the missed ticks and wait for the next boundary on the original schedule
+    SKIP,
+    // run one tick immediately in place of all missed ones, then continue from there
+    COALESCE,
+    // run every missed tick back-to-back until the schedule is met again
+    CATCH_UP
+}
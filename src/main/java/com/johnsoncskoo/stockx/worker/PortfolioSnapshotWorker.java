@@ -0,0 +1,77 @@
+package com.johnsoncskoo.stockx.worker;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.engine.ExecutionSequencer;
+import com.johnsoncskoo.stockx.repository.LedgerRepository;
+import com.johnsoncskoo.stockx.service.LedgerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically snapshots every portfolio with ledger entries past its latest snapshot's
+ * sequence, so a rebuild only has to replay a short tail of entries. The first run also
+ * snapshots portfolios that predate the ledger. Snapshots run on each portfolio's execution lane.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PortfolioSnapshotWorker {
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor();
+    private final LedgerService ledgerService;
+    private final LedgerRepository ledgerRepository;
+    private final ExecutionSequencer executionSequencer;
+    private final StockxProperties properties;
+
+    private boolean firstRun = true;
+    // the scan starts one run behind, so entries that were numbered before a run began but
+    // committed after it are still seen; staleness itself is decided per portfolio by sequence
+    private long scanFrom;
+    private long lastRunSequence;
+
+    @PostConstruct
+    public void startScheduler() {
+        var interval = properties.getLedger().getSnapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    private void snapshot() {
+        try {
+            var sequence = ledgerRepository.findLastSequence();
+            var portfolioIds = new LinkedHashSet<Long>();
+            if (firstRun) {
+                portfolioIds.addAll(ledgerRepository.findPortfoliosWithoutSnapshot());
+            }
+            portfolioIds.addAll(ledgerRepository.findPortfoliosWithUnsnapshottedEntries(scanFrom));
+
+            var snapshots = portfolioIds.stream()
+                    .map(portfolioId -> executionSequencer.submit(portfolioId, () -> {
+                        ledgerService.snapshot(portfolioId);
+                        return null;
+                    }))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(snapshots).join();
+
+            firstRun = false;
+            scanFrom = lastRunSequence;
+            lastRunSequence = sequence;
+            log.info("Snapshotted {} portfolios", portfolioIds.size());
+        } catch (Exception e) {
+            log.error("Error snapshotting portfolios", e);
+        }
+    }
+}
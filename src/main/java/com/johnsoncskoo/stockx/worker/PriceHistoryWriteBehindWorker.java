@@ -0,0 +1,295 @@
+package com.johnsoncskoo.stockx.worker;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import com.johnsoncskoo.stockx.repository.StockPriceHistoryBulkWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Persists price history off the tick thread. Ticks are published into a bounded ring buffer
+ * and a single writer thread drains them into large COPY batches, flushing once
+ * {@code flush-size} rows are pending or {@code flush-interval} has passed.
+ */
+@Slf4j
+@Component
+public class PriceHistoryWriteBehindWorker {
+    private static final String SPILL_SUFFIX = ".tick";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final int SPILLED_ROW_BYTES = 4 * Long.BYTES;
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+    // queued by stop() to wake the writer without interrupting a write in progress
+    private static final TickBatch WAKE_UP = new TickBatch(LocalDateTime.MIN, 0);
+
+    private final StockPriceHistoryBulkWriter bulkWriter;
+    private final BlockingQueue<TickBatch> queue;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final BackpressurePolicy backpressurePolicy;
+    private final Path spillDirectory;
+
+    private final Timer flushLatency;
+    private final Counter droppedRows;
+    private final Counter spilledBatches;
+    private final Counter failedRows;
+    // seeded from the clock so files spilled before a restart still sort first
+    private final AtomicLong spillSequence = new AtomicLong(System.currentTimeMillis() * 1_000);
+    private final AtomicLong queuedRows = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PriceHistoryWriteBehindWorker(StockPriceHistoryBulkWriter bulkWriter,
+                                         StockxProperties properties,
+                                         MeterRegistry meterRegistry) {
+        var history = properties.getHistory();
+        this.bulkWriter = bulkWriter;
+        this.queue = new ArrayBlockingQueue<>(history.getQueueCapacity());
+        this.flushSize = history.getFlushSize();
+        this.flushIntervalNanos = history.getFlushInterval().toNanos();
+        this.backpressurePolicy = history.getBackpressure();
+        this.spillDirectory = Path.of(history.getSpillDirectory());
+
+        Gauge.builder("stockx.history.queue.depth", queue, BlockingQueue::size)
+                .description("Ticks waiting to be written to price history")
+                .register(meterRegistry);
+        Gauge.builder("stockx.history.queue.rows", queuedRows, AtomicLong::get)
+                .description("Rows waiting to be written to price history")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("stockx.history.flush")
+                .description("Time taken to write one batch of price history")
+                .register(meterRegistry);
+        this.droppedRows = Counter.builder("stockx.history.dropped")
+                .description("Price history rows discarded because the queue was full")
+                .register(meterRegistry);
+        this.spilledBatches = Counter.builder("stockx.history.spilled")
+                .description("Ticks written to the spill directory because the queue was full")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("stockx.history.failed")
+                .description("Price history rows that could not be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "price-history-writer");
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        // a full queue means the writer is not waiting, so it sees the flag without the wake-up
+        queue.offer(WAKE_UP);
+        thread.join(STOP_TIMEOUT_MILLIS);
+        if (thread.isAlive()) {
+            log.warn("Price history writer did not stop within {} ms, interrupting it", STOP_TIMEOUT_MILLIS);
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    /**
+     * Hands a tick over for persistence, applying the configured backpressure policy when full.
+     */
+    public void publish(TickBatch batch) {
+        if (queue.offer(batch)) {
+            queuedRows.addAndGet(batch.size());
+            return;
+        }
+
+        switch (backpressurePolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(batch);
+                    queuedRows.addAndGet(batch.size());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedRows.increment(batch.size());
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(batch)) {
+                    var oldest = queue.poll();
+                    if (oldest != null) {
+                        queuedRows.addAndGet(-oldest.size());
+                        droppedRows.increment(oldest.size());
+                    }
+                }
+                queuedRows.addAndGet(batch.size());
+            }
+            case SPILL_TO_DISK -> spill(batch);
+        }
+    }
+
+    private void run() {
+        var pending = new ArrayList<TickBatch>();
+        int pendingRows = 0;
+        var lastFlush = System.nanoTime();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                var wait = Math.max(0, flushIntervalNanos - (System.nanoTime() - lastFlush));
+                var batch = running ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                while (batch != null) {
+                    if (batch != WAKE_UP) {
+                        pending.add(batch);
+                        pendingRows += batch.size();
+                        queuedRows.addAndGet(-batch.size());
+                    }
+                    batch = pendingRows < flushSize ? queue.poll() : null;
+                }
+            } catch (InterruptedException e) {
+                // interrupted after the stop timeout, drain what is left
+            }
+
+            var due = System.nanoTime() - lastFlush >= flushIntervalNanos;
+            if (!pending.isEmpty() && (pendingRows >= flushSize || due || !running)) {
+                flush(pending, pendingRows);
+                pending.clear();
+                pendingRows = 0;
+                lastFlush = System.nanoTime();
+            } else if (due) {
+                lastFlush = System.nanoTime();
+            }
+
+            if (queue.isEmpty()) {
+                try {
+                    replaySpilled();
+                } catch (RuntimeException e) {
+                    // the writer must outlive any one bad replay, or BLOCK would stall the tick thread
+                    log.error("Error replaying spilled price history from {}", spillDirectory, e);
+                }
+            }
+        }
+
+        // stop() may land after this iteration's flush check, leaving batches that were not yet due
+        if (!pending.isEmpty()) {
+            flush(pending, pendingRows);
+        }
+    }
+
+    private void flush(List<TickBatch> batches, int rows) {
+        var start = System.nanoTime();
+        try {
+            bulkWriter.write(batches);
+        } catch (Exception e) {
+            log.error("Error writing {} price history rows", rows, e);
+            if (backpressurePolicy == BackpressurePolicy.SPILL_TO_DISK) {
+                batches.forEach(this::spill);
+            } else {
+                failedRows.increment(rows);
+            }
+        } finally {
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void spill(TickBatch batch) {
+        var file = spillDirectory.resolve(String.format("%019d%s", spillSequence.incrementAndGet(), SPILL_SUFFIX));
+        try {
+            Files.createDirectories(spillDirectory);
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                out.writeUTF(batch.getTime().toString());
+                out.writeInt(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    out.writeLong(batch.getStockIds()[i]);
+                    out.writeLong(batch.getPrices()[i]);
+                    out.writeLong(batch.getPriceChanges()[i]);
+                    out.writeLong(batch.getVolumes()[i]);
+                }
+            }
+            spilledBatches.increment();
+        } catch (IOException e) {
+            log.error("Error spilling {} price history rows to {}", batch.size(), file, e);
+            droppedRows.increment(batch.size());
+        }
+    }
+
+    // replays at most one queue's worth of spilled ticks, oldest first
+    private void replaySpilled() {
+        if (!Files.isDirectory(spillDirectory)) {
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(spillDirectory)) {
+            files = listing.filter(path -> path.toString().endsWith(SPILL_SUFFIX))
+                    .sorted()
+                    .limit(queue.remainingCapacity())
+                    .toList();
+        } catch (IOException e) {
+            log.error("Error listing spilled price history in {}", spillDirectory, e);
+            return;
+        }
+
+        for (var file : files) {
+            TickBatch batch;
+            try {
+                batch = readSpilled(file);
+            } catch (IOException | RuntimeException e) {
+                log.error("Error replaying spilled price history from {}", file, e);
+                quarantine(file);
+                continue;
+            }
+            if (!queue.offer(batch)) {
+                return;
+            }
+            queuedRows.addAndGet(batch.size());
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                log.error("Error deleting replayed price history {}", file, e);
+            }
+        }
+    }
+
+    private TickBatch readSpilled(Path file) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            var time = LocalDateTime.parse(in.readUTF());
+            var rows = in.readInt();
+            if (rows < 0 || (long) rows * SPILLED_ROW_BYTES > Files.size(file)) {
+                throw new IOException("Spilled tick claims " + rows + " rows");
+            }
+            var batch = new TickBatch(time, rows);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.getStockIds()[i] = in.readLong();
+                batch.getPrices()[i] = in.readLong();
+                batch.getPriceChanges()[i] = in.readLong();
+                batch.getVolumes()[i] = in.readLong();
+            }
+            return batch;
+        }
+    }
+
+    // moves an unreadable spill file aside so it is kept for inspection but never replayed again
+    private void quarantine(Path file) {
+        var target = file.resolveSibling(file.getFileName() + CORRUPT_SUFFIX);
+        try {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            log.warn("Moved unreadable spilled price history to {}", target);
+        } catch (IOException e) {
+            log.error("Error quarantining spilled price history {}", file, e);
+        }
+    }
+}
@@ -1,34 +1,18 @@
 package com.johnsoncskoo.stockx.worker;
 
 import com.johnsoncskoo.stockx.service.StockDataService;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
 @Component
+@Order(0)
 @RequiredArgsConstructor
-public class StockPriceGeneratorWorker {
-    private final ScheduledExecutorService scheduler =
-            Executors.newScheduledThreadPool(1);
+public class StockPriceGeneratorWorker implements TickStage {
     private final StockDataService stockDataService;
 
-    @PostConstruct
-    public void startScheduler() {
-        scheduler.scheduleAtFixedRate(
-                stockDataService::generateStockData,
-                0, 5, TimeUnit.SECONDS);
-//        scheduler.scheduleAtFixedRate(
-//                stockDataService::getDashboardHCOLData,
-//                0, 10, TimeUnit.SECONDS);
-    }
-
-    @PreDestroy
-    public void stopScheduler() {
-        scheduler.shutdown();
+    @Override
+    public void onTick() {
+        stockDataService.generateStockData();
     }
-}
\ No newline at end of file
+}
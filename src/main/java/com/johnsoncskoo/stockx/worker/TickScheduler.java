@@ -0,0 +1,138 @@
+package com.johnsoncskoo.stockx.worker;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives every {@link TickStage} from one thread on a fixed period. Deadlines are computed
+ * from the start time rather than from the previous tick, so the schedule does not drift.
+ */
+@Slf4j
+@Component
+public class TickScheduler {
+    private final List<TickStage> stages;
+    private final long periodNanos;
+    private final OverrunPolicy overrunPolicy;
+
+    private final Timer tickDuration;
+    private final Timer tickLag;
+    private final Counter overruns;
+    private final Counter skippedTicks;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public TickScheduler(List<TickStage> stages, StockxProperties properties, MeterRegistry meterRegistry) {
+        this.stages = stages;
+        this.periodNanos = properties.getTick().getPeriod().toNanos();
+        this.overrunPolicy = properties.getTick().getOverrunPolicy();
+
+        this.tickDuration = Timer.builder("stockx.tick.duration")
+                .description("Time taken to run every stage of a tick")
+                .register(meterRegistry);
+        this.tickLag = Timer.builder("stockx.tick.lag")
+                .description("Delay between a tick's scheduled and actual start")
+                .register(meterRegistry);
+        this.overruns = Counter.builder("stockx.tick.overruns")
+                .description("Ticks that ran past the start of the next tick")
+                .tag("policy", overrunPolicy.name())
+                .register(meterRegistry);
+        this.skippedTicks = Counter.builder("stockx.tick.skipped")
+                .description("Ticks dropped or merged because of an overrun")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "tick-scheduler");
+        thread.start();
+        log.info("Tick scheduler started with a {} ms period, {} stage(s) and {} overrun policy",
+                TimeUnit.NANOSECONDS.toMillis(periodNanos), stages.size(), overrunPolicy);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.NANOSECONDS.toMillis(periodNanos) * 2);
+        }
+    }
+
+    private void run() {
+        var origin = System.nanoTime();
+        long tick = 0;
+
+        while (running) {
+            var deadline = origin + tick * periodNanos;
+            if (!sleepUntil(deadline)) {
+                return;
+            }
+
+            var startedAt = System.nanoTime();
+            tickLag.record(startedAt - deadline, TimeUnit.NANOSECONDS);
+            runStages();
+            var finishedAt = System.nanoTime();
+            tickDuration.record(finishedAt - startedAt, TimeUnit.NANOSECONDS);
+
+            tick++;
+            var nextDeadline = origin + tick * periodNanos;
+            if (finishedAt <= nextDeadline) {
+                continue;
+            }
+
+            // the tick overran into one or more following periods
+            var missed = (finishedAt - nextDeadline) / periodNanos + 1;
+            overruns.increment();
+            log.warn("Tick took {} ms, overrunning {} period(s)",
+                    TimeUnit.NANOSECONDS.toMillis(finishedAt - startedAt), missed);
+
+            switch (overrunPolicy) {
+                case SKIP -> {
+                    tick += missed;
+                    skippedTicks.increment(missed);
+                }
+                case COALESCE -> {
+                    origin = finishedAt - tick * periodNanos;
+                    skippedTicks.increment(missed - 1);
+                }
+                case CATCH_UP -> {
+                    // the next deadlines are already due, so they run without sleeping
+                }
+            }
+        }
+    }
+
+    private void runStages() {
+        for (var stage : stages) {
+            try {
+                stage.onTick();
+            } catch (Exception e) {
+                log.error("Tick stage {} failed", stage.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private boolean sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (!running || Thread.interrupted()) {
+                return false;
+            }
+        }
+        return running;
+    }
+}
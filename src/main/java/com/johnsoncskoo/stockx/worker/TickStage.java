@@ -0,0 +1,8 @@
+package com.johnsoncskoo.stockx.worker;
+
+/**
+ * A step run on every tick of the {@link TickScheduler}, in {@link org.springframework.core.annotation.Order} order.
+ */
+public interface TickStage {
+    void onTick();
+}
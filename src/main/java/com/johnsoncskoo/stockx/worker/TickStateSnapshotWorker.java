@@ -0,0 +1,49 @@
+package com.johnsoncskoo.stockx.worker;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.engine.InMemoryTickStateStore;
+import com.johnsoncskoo.stockx.repository.TickStateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stockx.tick", name = "state-store", havingValue = "memory", matchIfMissing = true)
+public class TickStateSnapshotWorker {
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor();
+    private final InMemoryTickStateStore tickStateStore;
+    private final TickStateRepository tickStateRepository;
+    private final StockxProperties properties;
+
+    @PostConstruct
+    public void startScheduler() {
+        var interval = properties.getTick().getSnapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopScheduler() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        // a final snapshot, so the next start warm-loads the latest state
+        snapshot();
+    }
+
+    private void snapshot() {
+        try {
+            tickStateStore.snapshotTo(tickStateRepository);
+        } catch (Exception e) {
+            log.error("Error writing tick state snapshot", e);
+        }
+    }
+}
@@ -1,20 +1,28 @@
 package com.johnsoncskoo.stockx.worker;
 
+import com.johnsoncskoo.stockx.config.StockxProperties;
 import com.johnsoncskoo.stockx.service.TradeService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+/**
+ * Triggers pending orders against the prices generated earlier in the same tick. In cluster
+ * mode only the generator node triggers orders; followers relay theirs to it.
+ */
 @Component
+@Order(1)
 @RequiredArgsConstructor
-@Slf4j
-public class TradeWorker {
+public class TradeWorker implements TickStage {
 
     private final TradeService tradeService;
+    private final StockxProperties properties;
 
-    @Scheduled(fixedRate = 5000)
-    public void startScheduler() {
+    @Override
+    public void onTick() {
+        if (!properties.getCluster().isGeneratorNode()) {
+            return;
+        }
         tradeService.processTradeEvents();
     }
 }
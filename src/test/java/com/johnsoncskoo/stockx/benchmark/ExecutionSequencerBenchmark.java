@@ -0,0 +1,103 @@
+package com.johnsoncskoo.stockx.benchmark;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.engine.ExecutionSequencer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills per second applied through the {@link ExecutionSequencer} for 1, 2, 4 and 8 lanes
+ * (the {@code :fills} counter). Each invocation submits one tick's worth of fills spread over
+ * many portfolios and waits for all of them. A fill updates in-memory balance and position
+ * state after burning {@code work} CPU tokens, so the numbers show lane overhead and scaling
+ * rather than database cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionSequencerBenchmark {
+    private static final int PORTFOLIOS = 10_000;
+    private static final int FILLS_PER_TICK = 20_000;
+    private static final int STOCKS = 64;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Fills {
+        public long fills;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Lanes {
+        @Param({"1", "2", "4", "8"})
+        public int lanes;
+
+        // Blackhole CPU tokens burned per fill, standing in for settlement work
+        @Param({"0", "2000"})
+        public long work;
+
+        private ExecutionSequencer sequencer;
+        private long[] portfolioIds;
+        private int[] stockIds;
+        private double[] prices;
+
+        // only ever touched by the lane owning the portfolio
+        private double[] balances;
+        private int[][] positions;
+
+        @Setup
+        public void setUp() {
+            var properties = new StockxProperties();
+            properties.getExecution().setLanes(lanes);
+            properties.getExecution().setQueueCapacity(FILLS_PER_TICK);
+            sequencer = new ExecutionSequencer(properties);
+
+            var random = new SplittableRandom(42);
+            portfolioIds = new long[FILLS_PER_TICK];
+            stockIds = new int[FILLS_PER_TICK];
+            prices = new double[FILLS_PER_TICK];
+            for (int i = 0; i < FILLS_PER_TICK; i++) {
+                portfolioIds[i] = random.nextInt(PORTFOLIOS);
+                stockIds[i] = random.nextInt(STOCKS);
+                prices[i] = 10 + random.nextDouble(490);
+            }
+
+            balances = new double[PORTFOLIOS];
+            positions = new int[PORTFOLIOS][STOCKS];
+        }
+
+        @TearDown
+        public void tearDown() {
+            sequencer.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void fillTick(Lanes state, Fills counter) {
+        var fills = new CompletableFuture<?>[FILLS_PER_TICK];
+        for (int i = 0; i < FILLS_PER_TICK; i++) {
+            var portfolio = (int) state.portfolioIds[i];
+            var stock = state.stockIds[i];
+            var price = state.prices[i];
+            fills[i] = state.sequencer.submit(portfolio, () -> {
+                Blackhole.consumeCPU(state.work);
+                var quantity = state.positions[portfolio][stock];
+                if (quantity > 0) {
+                    state.positions[portfolio][stock] = quantity - 1;
+                    state.balances[portfolio] += price;
+                } else {
+                    state.positions[portfolio][stock] = quantity + 1;
+                    state.balances[portfolio] -= price;
+                }
+                return null;
+            });
+        }
+        CompletableFuture.allOf(fills).join();
+        counter.fills += FILLS_PER_TICK;
+    }
+}
@@ -0,0 +1,140 @@
+package com.johnsoncskoo.stockx.benchmark;
+
+import com.johnsoncskoo.stockx.model.PooledSequenceGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order rows inserted per second (the {@code :rows} counter) with identity keys versus pooled
+ * sequence keys, each run as one transaction of {@code rows} inserts.
+ * <p>
+ * {@code identity} mirrors what Hibernate does for {@code GenerationType.IDENTITY}: one insert
+ * and key round trip per row. {@code pooledSequence} reserves ids with one {@code nextval}
+ * per allocation block and sends a single JDBC batch, rewritten into multi-row inserts by the
+ * driver. Needs a scratch PostgreSQL database given by {@code -Dstockx.bench.jdbc-url}
+ * (plus {@code stockx.bench.username} and {@code stockx.bench.password}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderInsertBenchmark {
+    private static final int ALLOCATION_SIZE = PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE;
+    private static final String COLUMNS = "stock_id, user_id, quantity, limit_price, status, created_at";
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Database {
+        @Param({"1", "50", "500"})
+        public int rows;
+
+        private SingleConnectionDataSource dataSource;
+        private JdbcTemplate jdbcTemplate;
+        private TransactionTemplate transactionTemplate;
+
+        @Setup
+        public void setUp() {
+            var url = System.getProperty("stockx.bench.jdbc-url");
+            if (url == null) {
+                throw new IllegalStateException("-Dstockx.bench.jdbc-url must point at a scratch PostgreSQL database");
+            }
+
+            dataSource = new SingleConnectionDataSource(url,
+                    System.getProperty("stockx.bench.username", "postgres"),
+                    System.getProperty("stockx.bench.password", ""), true);
+            var connectionProperties = new Properties();
+            connectionProperties.setProperty("reWriteBatchedInserts", "true");
+            dataSource.setConnectionProperties(connectionProperties);
+
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bench_orders_identity (" +
+                    "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " + columnDefinitions() + ")");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bench_orders_pooled (" +
+                    "id BIGINT PRIMARY KEY, " + columnDefinitions() + ")");
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS bench_orders_seq INCREMENT BY " + ALLOCATION_SIZE);
+        }
+
+        @TearDown
+        public void tearDown() {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS bench_orders_identity, bench_orders_pooled");
+            jdbcTemplate.execute("DROP SEQUENCE IF EXISTS bench_orders_seq");
+            dataSource.destroy();
+        }
+
+        private static String columnDefinitions() {
+            return "stock_id BIGINT NOT NULL, user_id BIGINT NOT NULL, quantity INT NOT NULL, " +
+                    "limit_price DOUBLE PRECISION NOT NULL, status SMALLINT, created_at TIMESTAMP";
+        }
+    }
+
+    @Benchmark
+    public void identity(Database db, Rows counter) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        db.transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < db.rows; i++) {
+                var row = i;
+                db.jdbcTemplate.execute(connection -> connection.prepareStatement(
+                        "INSERT INTO bench_orders_identity (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS), (PreparedStatement statement) -> {
+                    bind(statement, row, now);
+                    statement.executeUpdate();
+                    try (var keys = statement.getGeneratedKeys()) {
+                        keys.next();
+                        return keys.getLong(1);
+                    }
+                });
+            }
+        });
+        counter.rows += db.rows;
+    }
+
+    @Benchmark
+    public void pooledSequence(Database db, Rows counter) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        db.transactionTemplate.executeWithoutResult(status -> {
+            var batch = new ArrayList<Object[]>(db.rows);
+            long next = 0;
+            long last = -1;
+            for (int i = 0; i < db.rows; i++) {
+                if (next > last) {
+                    // the pooled optimizer owns (value - allocation size, value]
+                    last = db.jdbcTemplate.queryForObject("SELECT nextval('bench_orders_seq')", Long.class);
+                    next = last - ALLOCATION_SIZE + 1;
+                }
+                batch.add(new Object[]{next++, i % 100 + 1L, i % 1000 + 1L, 10, 100.0 + i, 0, now});
+            }
+            db.jdbcTemplate.batchUpdate(
+                    "INSERT INTO bench_orders_pooled (id, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+        });
+        counter.rows += db.rows;
+    }
+
+    private static void bind(PreparedStatement statement, int row, Timestamp now) throws SQLException {
+        statement.setLong(1, row % 100 + 1L);
+        statement.setLong(2, row % 1000 + 1L);
+        statement.setInt(3, 10);
+        statement.setDouble(4, 100.0 + row);
+        statement.setInt(5, 0);
+        statement.setTimestamp(6, now);
+    }
+}
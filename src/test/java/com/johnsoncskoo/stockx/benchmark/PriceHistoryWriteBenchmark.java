@@ -0,0 +1,111 @@
+package com.johnsoncskoo.stockx.benchmark;
+
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import com.johnsoncskoo.stockx.repository.PriceHistoryCopyEncoder;
+import com.johnsoncskoo.stockx.repository.StockPriceHistoryBulkWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second written for one tick of 1k, 10k and 100k symbols (the {@code :rows} counter).
+ * <p>
+ * {@code encode} measures the binary COPY encoding alone. {@code copy} measures the full
+ * {@link StockPriceHistoryBulkWriter} path against a scratch PostgreSQL database given by
+ * {@code -Dstockx.bench.jdbc-url} (plus {@code stockx.bench.username} and {@code stockx.bench.password}).
+ * Its {@code stock_price_history} table is created if missing and emptied afterwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceHistoryWriteBenchmark {
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Encode {
+        @Param({"1000", "10000", "100000"})
+        public int symbols;
+
+        private final PriceHistoryCopyEncoder encoder = new PriceHistoryCopyEncoder();
+        private TickBatch batch;
+
+        @Setup
+        public void setUp() {
+            batch = createBatch(symbols, LocalDateTime.of(2000, 1, 1, 0, 0));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Copy {
+        @Param({"1000", "10000", "100000"})
+        public int symbols;
+
+        private JdbcTemplate jdbcTemplate;
+        private StockPriceHistoryBulkWriter writer;
+        private TickBatch batch;
+        private long tick;
+
+        @Setup
+        public void setUp() {
+            var url = System.getProperty("stockx.bench.jdbc-url");
+            if (url == null) {
+                throw new IllegalStateException("-Dstockx.bench.jdbc-url must point at a scratch PostgreSQL database");
+            }
+
+            var dataSource = new DriverManagerDataSource(url,
+                    System.getProperty("stockx.bench.username", "postgres"),
+                    System.getProperty("stockx.bench.password", ""));
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS stock_price_history (" +
+                    "stock_id BIGINT NOT NULL, time TIMESTAMPTZ NOT NULL, price DECIMAL(19,4) NOT NULL, " +
+                    "volume BIGINT, PRIMARY KEY (stock_id, time))");
+            writer = new StockPriceHistoryBulkWriter(dataSource, jdbcTemplate);
+        }
+
+        @Setup(Level.Invocation)
+        public void nextTick() {
+            // every tick needs a distinct timestamp to satisfy the (stock_id, time) key
+            batch = createBatch(symbols, LocalDateTime.of(2000, 1, 1, 0, 0).plusSeconds(++tick));
+        }
+
+        @TearDown
+        public void tearDown() {
+            jdbcTemplate.execute("TRUNCATE stock_price_history");
+        }
+    }
+
+    @Benchmark
+    public int encode(Encode state, Rows rows) {
+        rows.rows += state.symbols;
+        return state.encoder.encode(state.batch);
+    }
+
+    @Benchmark
+    public void copy(Copy state, Rows rows) {
+        state.writer.write(state.batch);
+        rows.rows += state.symbols;
+    }
+
+    private static TickBatch createBatch(int symbols, LocalDateTime time) {
+        var batch = new TickBatch(time, symbols);
+        var random = new SplittableRandom(symbols);
+        for (int i = 0; i < symbols; i++) {
+            batch.getStockIds()[i] = i + 1;
+            batch.getPrices()[i] = FixedPoint.toScaled(1 + random.nextDouble() * 1_000);
+            batch.getVolumes()[i] = TickBatch.DEFAULT_VOLUME;
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,65 @@
+package com.johnsoncskoo.stockx.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.johnsoncskoo.stockx.codec.CodecRedisSerializer;
+import com.johnsoncskoo.stockx.codec.StockPriceHistoryCacheCodec;
+import com.johnsoncskoo.stockx.dto.StockPriceHistoryCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing and reading one tick-state value with the JDK serializer the Redis template
+ * used to be configured with, and with {@link CodecRedisSerializer}. The encoded size of one
+ * value, i.e. what Redis has to hold per stock, is printed at teardown.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisCodecBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Codec {
+        @Param({"jdk", "codec"})
+        public String serializer;
+
+        private RedisSerializer<Object> redisSerializer;
+        private StockPriceHistoryCache value;
+        private byte[] encoded;
+
+        @Setup
+        public void setUp() {
+            redisSerializer = serializer.equals("jdk")
+                    ? new JdkSerializationRedisSerializer()
+                    : new CodecRedisSerializer(List.of(new StockPriceHistoryCacheCodec()), new ObjectMapper());
+            value = StockPriceHistoryCache.builder()
+                    .priceChange(new BigDecimal("-1.2500"))
+                    .latestPrice(new BigDecimal("123.4567"))
+                    .movementCount(3)
+                    .ticksElapsed(42)
+                    .build();
+            encoded = redisSerializer.serialize(value);
+        }
+
+        @TearDown
+        public void tearDown() {
+            System.out.printf("%n%s: %d bytes per value%n", serializer, encoded.length);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(Codec state) {
+        return state.redisSerializer.serialize(state.value);
+    }
+
+    @Benchmark
+    public Object deserialize(Codec state) {
+        return state.redisSerializer.deserialize(state.encoded);
+    }
+}
@@ -0,0 +1,210 @@
+package com.johnsoncskoo.stockx.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.dto.StockUpdateDto;
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import com.johnsoncskoo.stockx.messaging.StockUpdateEncoder;
+import com.johnsoncskoo.stockx.messaging.StockUpdatePublisher;
+import com.johnsoncskoo.stockx.messaging.SubscriptionRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of broadcasting one tick of {@value #STOCKS} stocks, converting a {@link StockUpdateDto}
+ * per stock through {@link SimpMessagingTemplate} as the tick used to ({@code convert}),
+ * against encoding every update once with {@link StockUpdatePublisher} ({@code preEncoded}).
+ * <ul>
+ *     <li>{@code encodeTick} only builds the payloads.</li>
+ *     <li>{@code broadcastTick} also fans them out through the simple broker to {@code subscribers}
+ *     sessions, each watching {@value #WATCHLIST} stocks, one in a hundred also watching
+ *     {@code /topic/stocks}, and encodes every outbound STOMP frame as the session would. Frames
+ *     and bytes the sessions receive per tick are printed at teardown.</li>
+ * </ul>
+ * Run with {@code -prof gc} for allocation per tick. Broadcast cost is dominated by the
+ * per-session STOMP frame encoding, which cannot be shared because every frame carries its
+ * session's subscription and message id.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockBroadcastBenchmark {
+    private static final int STOCKS = 500;
+    private static final int WATCHLIST = 5;
+
+    @State(Scope.Benchmark)
+    public static class Broadcast {
+        @Param({"convert", "preEncoded"})
+        public String path;
+
+        @Param({"10000"})
+        public int subscribers;
+
+        private final ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        private final StompEncoder stompEncoder = new StompEncoder();
+        private final SplittableRandom random = new SplittableRandom(42);
+        private final long[] prices = new long[STOCKS + 1];
+        private final StockUpdateEncoder encoder = new StockUpdateEncoder();
+
+        private SimpleBrokerMessageHandler broker;
+        private SimpMessagingTemplate messagingTemplate;
+        private StockUpdatePublisher publisher;
+        private long ticks;
+        private long frames;
+        private long bytes;
+
+        @Setup
+        public void setUp() {
+            var inbound = new ExecutorSubscribableChannel();
+            var outbound = new ExecutorSubscribableChannel();
+            var brokerChannel = new ExecutorSubscribableChannel();
+            outbound.subscribe(this::encodeFrame);
+
+            broker = new SimpleBrokerMessageHandler(inbound, outbound, brokerChannel, List.of("/topic"));
+            broker.start();
+
+            var converter = new MappingJackson2MessageConverter();
+            converter.setObjectMapper(objectMapper);
+            messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+            messagingTemplate.setMessageConverter(converter);
+
+            var registry = new SubscriptionRegistry();
+            ApplicationEventPublisher events = event -> registry.onSubscribe((SessionSubscribeEvent) event);
+            for (int session = 0; session < subscribers; session++) {
+                connect(session);
+                for (int i = 0; i < WATCHLIST; i++) {
+                    subscribe(events, session, i, StockUpdatePublisher.STOCK_TOPIC_PREFIX + (1 + random.nextInt(STOCKS)));
+                }
+                if (session % 100 == 0) {
+                    subscribe(events, session, WATCHLIST, StockUpdatePublisher.STOCKS_TOPIC);
+                }
+            }
+            publisher = new StockUpdatePublisher(messagingTemplate, registry, new StockxProperties());
+
+            for (int id = 1; id <= STOCKS; id++) {
+                prices[id] = FixedPoint.toScaled(100.0);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            broker.stop();
+            if (ticks > 0) {
+                System.out.printf("%n%s: %d frames, %d bytes per tick%n", path, frames / ticks, bytes / ticks);
+            }
+        }
+
+        private void connect(int session) {
+            var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+            accessor.setSessionId("session-" + session);
+            broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+
+        private void subscribe(ApplicationEventPublisher events, int session, int subscription, String destination) {
+            var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            accessor.setSessionId("session-" + session);
+            accessor.setSubscriptionId("sub-" + subscription);
+            accessor.setDestination(destination);
+            var message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+            broker.handleMessage(message);
+            events.publishEvent(new SessionSubscribeEvent(this, message));
+        }
+
+        // what each session's STOMP handler does with a broadcast message
+        private void encodeFrame(Message<?> message) {
+            var source = SimpMessageHeaderAccessor.wrap(message);
+            if (source.getMessageType() != SimpMessageType.MESSAGE) {
+                return;
+            }
+            var accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            accessor.setDestination(source.getDestination());
+            accessor.setSubscriptionId(source.getSubscriptionId());
+            accessor.setContentType(source.getContentType());
+            accessor.setMessageId(source.getSessionId() + "-" + frames);
+            var frame = stompEncoder.encode(accessor.getMessageHeaders(), (byte[]) message.getPayload());
+            frames++;
+            bytes += frame.length;
+        }
+
+        TickBatch nextTick() {
+            var batch = new TickBatch(LocalDateTime.now(), STOCKS);
+            for (int i = 0; i < STOCKS; i++) {
+                var id = i + 1;
+                prices[id] += random.nextInt(-500, 501);
+                batch.getStockIds()[i] = id;
+                batch.getPrices()[i] = prices[id];
+            }
+            return batch;
+        }
+
+        List<StockUpdateDto> toDtos(TickBatch batch) {
+            var updates = new ArrayList<StockUpdateDto>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                updates.add(StockUpdateDto.builder()
+                        .stockId(batch.getStockIds()[i])
+                        .price(FixedPoint.toBigDecimal(batch.getPrices()[i]))
+                        .time(batch.getTime())
+                        .build());
+            }
+            return updates;
+        }
+    }
+
+    @Benchmark
+    public Object encodeTick(Broadcast state) throws Exception {
+        var batch = state.nextTick();
+        if (state.path.equals("convert")) {
+            var updates = state.toDtos(batch);
+            for (var update : updates) {
+                state.objectMapper.writeValueAsBytes(update);
+            }
+            return state.objectMapper.writeValueAsBytes(updates);
+        }
+
+        var encoder = state.encoder;
+        encoder.reset();
+        for (int i = 0; i < batch.size(); i++) {
+            encoder.element(encoder.add(batch.getStockIds()[i], batch.getPrices()[i], batch.getTime()));
+        }
+        return encoder.array();
+    }
+
+    @Benchmark
+    public void broadcastTick(Broadcast state) {
+        state.ticks++;
+        var batch = state.nextTick();
+        if (state.path.equals("convert")) {
+            var updates = state.toDtos(batch);
+            for (var update : updates) {
+                state.messagingTemplate.convertAndSend(StockUpdatePublisher.STOCK_TOPIC_PREFIX + update.getStockId(), update);
+            }
+            state.messagingTemplate.convertAndSend(StockUpdatePublisher.STOCKS_TOPIC, updates);
+        } else {
+            state.publisher.publish(batch, state.ticks);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.johnsoncskoo.stockx.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.johnsoncskoo.stockx.dto.StockPriceHistoryCache;
+import com.johnsoncskoo.stockx.dto.UserResponse;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import com.johnsoncskoo.stockx.engine.TickFeedMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodecRedisSerializerTests {
+
+    private final CodecRedisSerializer serializer = new CodecRedisSerializer(
+            List.of(new StockPriceHistoryCacheCodec(), new TickFeedMessageCodec()), new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    void tickStateRoundTripsInTwentySevenBytes() {
+        var bytes = serializer.serialize(tickState());
+
+        assertEquals(27, bytes.length);
+        assertTickState((StockPriceHistoryCache) serializer.deserialize(bytes));
+    }
+
+    @Test
+    void missingPricesSurvive() {
+        var bytes = serializer.serialize(StockPriceHistoryCache.builder().movementCount(1).build());
+        var value = (StockPriceHistoryCache) serializer.deserialize(bytes);
+
+        assertNull(value.getLatestPrice());
+        assertNull(value.getPriceChange());
+        assertEquals(1, value.getMovementCount());
+    }
+
+    @Test
+    void otherTypesFallBackToJson() {
+        var expiresAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+        var bytes = serializer.serialize(new UserResponse(7, "trader", "abc", expiresAt));
+
+        assertEquals(CodecRedisSerializer.JSON, bytes[0]);
+        var user = (UserResponse) serializer.deserialize(bytes);
+        assertEquals(7, user.getId());
+        assertEquals("trader", user.getUsername());
+        assertEquals(expiresAt, user.getExpiresAt());
+    }
+
+    @Test
+    void tickFeedMessagesRoundTrip() {
+        var time = LocalDateTime.of(2025, 3, 4, 10, 15, 30, 120_000_000);
+        var batch = new TickBatch(time, 2);
+        batch.getStockIds()[0] = 1;
+        batch.getStockIds()[1] = 2;
+        batch.getPrices()[1] = 1_234_567;
+        batch.getPriceChanges()[1] = -5;
+        batch.getVolumes()[1] = TickBatch.DEFAULT_VOLUME;
+
+        var bytes = serializer.serialize(new TickFeedMessage(9, 3, 1_000, batch));
+        var message = (TickFeedMessage) serializer.deserialize(bytes);
+
+        assertEquals(3 + 40 + 2 * 32, bytes.length);
+        assertEquals(9, message.epoch());
+        assertEquals(3, message.sequence());
+        assertEquals(1_000, message.publishedAt());
+        assertEquals(time, message.batch().getTime());
+        assertArrayEquals(batch.getStockIds(), message.batch().getStockIds());
+        assertArrayEquals(batch.getPrices(), message.batch().getPrices());
+        assertArrayEquals(batch.getPriceChanges(), message.batch().getPriceChanges());
+        assertArrayEquals(batch.getVolumes(), message.batch().getVolumes());
+    }
+
+    @Test
+    void legacyJdkValuesAreStillRead() {
+        var bytes = new JdkSerializationRedisSerializer().serialize(tickState());
+
+        assertTickState((StockPriceHistoryCache) serializer.deserialize(bytes));
+    }
+
+    @Test
+    void unknownVersionsAndTypesReadAsMisses() {
+        var bytes = serializer.serialize(tickState());
+        bytes[2] = 99;
+        assertNull(serializer.deserialize(bytes));
+
+        bytes[1] = 99;
+        assertNull(serializer.deserialize(bytes));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    private static StockPriceHistoryCache tickState() {
+        return StockPriceHistoryCache.builder()
+                .priceChange(new BigDecimal("-1.2500"))
+                .latestPrice(new BigDecimal("123.4567"))
+                .movementCount(3)
+                .ticksElapsed(42)
+                .build();
+    }
+
+    private static void assertTickState(StockPriceHistoryCache value) {
+        assertEquals(new BigDecimal("-1.2500"), value.getPriceChange());
+        assertEquals(new BigDecimal("123.4567"), value.getLatestPrice());
+        assertEquals(3, value.getMovementCount());
+        assertEquals(42, value.getTicksElapsed());
+    }
+}
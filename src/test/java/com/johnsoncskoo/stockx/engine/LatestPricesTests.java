@@ -0,0 +1,39 @@
+package com.johnsoncskoo.stockx.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatestPricesTests {
+
+    @Test
+    void nextAppliesBatchAndKeepsPreviousSnapshotUnchanged() {
+        var first = LatestPrices.EMPTY.next(batch(LocalDateTime.now(), new long[]{1, 3}, new long[]{100, 300}));
+        var second = first.next(batch(LocalDateTime.now(), new long[]{3, 5}, new long[]{310, 500}));
+
+        assertEquals(1, first.getSequence());
+        assertEquals(2, second.getSequence());
+
+        assertEquals(300, first.scaledPrice(3));
+        assertEquals(LatestPrices.NO_PRICE, first.scaledPrice(5));
+
+        assertEquals(100, second.scaledPrice(1));
+        assertEquals(310, second.scaledPrice(3));
+        assertEquals(500, second.scaledPrice(5));
+        assertTrue(second.findPrice(2).isEmpty());
+        assertTrue(second.findPrice(42).isEmpty());
+    }
+
+    private static TickBatch batch(LocalDateTime time, long[] stockIds, long[] prices) {
+        var batch = new TickBatch(time, stockIds.length);
+        var state = new TickState();
+        for (int i = 0; i < stockIds.length; i++) {
+            state.setPrice(prices[i]);
+            batch.set(i, stockIds[i], state);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,98 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.model.Stock;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OhlcAggregatorTests {
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 4);
+
+    private final OhlcAggregator aggregator = new OhlcAggregator(null);
+    private final StockCatalog catalog = new StockCatalog(List.of(stock(1, "AAA"), stock(2, "BBB")));
+
+    @Test
+    void ticksExtendSeededBars() {
+        aggregator.seed(TODAY, List.<Object[]>of(
+                bar(1, TODAY.minusDays(1), "90", "95", "85", "100", 500),
+                bar(1, TODAY, "100", "110", "98", "105", 1000)));
+
+        aggregator.update(batch(TODAY.atTime(10, 0), new long[]{1, 2}, new long[]{1_120_000, 500_000}), 1);
+        aggregator.update(batch(TODAY.atTime(10, 1), new long[]{1, 2}, new long[]{1_080_000, 400_000}), 2);
+
+        var stocks = aggregator.dashboard(catalog, TODAY.atTime(10, 1));
+        assertEquals(2, stocks.size());
+
+        var first = stocks.get(0);
+        assertEquals("AAA", first.getSymbol());
+        assertEquals(new BigDecimal("100.0000"), first.getOpen());
+        assertEquals(new BigDecimal("112.0000"), first.getHigh());
+        assertEquals(new BigDecimal("98.0000"), first.getLow());
+        assertEquals(new BigDecimal("100.0000"), first.getClose());
+        assertEquals(new BigDecimal("108.0000"), first.getPrice());
+        assertEquals(new BigDecimal("8.0000"), first.getPriceChange());
+        assertEquals(0, new BigDecimal("8").compareTo(first.getPriceChangePercentage()));
+        assertEquals(1000 + 2 * TickBatch.DEFAULT_VOLUME, first.getVolume());
+
+        // first traded today, so measured against its open
+        var second = stocks.get(1);
+        assertEquals(new BigDecimal("50.0000"), second.getOpen());
+        assertEquals(new BigDecimal("40.0000"), second.getLow());
+        assertEquals(new BigDecimal("-10.0000"), second.getPriceChange());
+    }
+
+    @Test
+    void newDayStartsFreshBarsFromPreviousClose() {
+        aggregator.seed(TODAY, List.<Object[]>of(bar(1, TODAY, "100", "110", "98", "105", 1000)));
+
+        aggregator.update(batch(TODAY.plusDays(1).atStartOfDay(), new long[]{1}, new long[]{1_000_000}), 1);
+
+        var stock = aggregator.dashboard(catalog, TODAY.plusDays(1).atStartOfDay()).get(0);
+        assertEquals(new BigDecimal("100.0000"), stock.getOpen());
+        assertEquals(new BigDecimal("100.0000"), stock.getHigh());
+        assertEquals(new BigDecimal("105.0000"), stock.getClose());
+        assertEquals(TickBatch.DEFAULT_VOLUME, stock.getVolume());
+    }
+
+    @Test
+    void snapshotsStayFixedAtTheirTick() {
+        aggregator.seed(TODAY, List.of());
+        aggregator.update(batch(TODAY.atTime(10, 0), new long[]{1}, new long[]{1_000_000}), 7);
+        var snapshot = aggregator.snapshot();
+
+        aggregator.update(batch(TODAY.atTime(10, 1), new long[]{1}, new long[]{1_200_000}), 8);
+
+        assertEquals(7, snapshot.getSequence());
+        assertEquals(TODAY.atTime(10, 0), snapshot.getTime());
+        var stock = snapshot.find(catalog.findById(1).orElseThrow(), snapshot.getTime());
+        assertEquals(new BigDecimal("100.0000"), stock.getPrice());
+        assertEquals(new BigDecimal("100.0000"), stock.getHigh());
+        assertNull(snapshot.find(catalog.findById(2).orElseThrow(), snapshot.getTime()));
+        assertEquals(8, aggregator.snapshot().getSequence());
+    }
+
+    private static Object[] bar(long stockId, LocalDate day, String open, String high, String low, String close, long volume) {
+        return new Object[]{stockId, day.atStartOfDay(), new BigDecimal(open), new BigDecimal(high),
+                new BigDecimal(low), new BigDecimal(close), BigDecimal.valueOf(volume)};
+    }
+
+    private static Stock stock(long id, String symbol) {
+        return Stock.builder().id(id).symbol(symbol).name(symbol).basePrice(BigDecimal.TEN).build();
+    }
+
+    private static TickBatch batch(LocalDateTime time, long[] stockIds, long[] prices) {
+        var batch = new TickBatch(time, stockIds.length);
+        var state = new TickState();
+        for (int i = 0; i < stockIds.length; i++) {
+            state.setPrice(prices[i]);
+            batch.set(i, stockIds[i], state);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,39 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.model.OrderDirection;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderTriggerBookTests {
+
+    @Test
+    void triggersOnlyOrdersCrossedByThePrice() {
+        var book = new OrderTriggerBook(null);
+        book.add(1, 7, OrderDirection.BUY, 90);
+        book.add(2, 7, OrderDirection.BUY, 100);
+        book.add(3, 7, OrderDirection.BUY, 110);
+        book.add(4, 7, OrderDirection.SELL, 100);
+        book.add(5, 7, OrderDirection.SELL, 120);
+        book.add(6, 8, OrderDirection.BUY, 500);
+
+        assertEquals(List.of(3L, 2L, 4L), book.trigger(prices(7, 100)));
+        assertEquals(3, book.size());
+
+        assertEquals(List.of(5L), book.trigger(prices(7, 130)));
+        assertEquals(List.of(1L), book.trigger(prices(7, 50)));
+        assertEquals(List.of(), book.trigger(prices(7, 100)));
+        assertEquals(1, book.size());
+    }
+
+    private static LatestPrices prices(long stockId, long price) {
+        var batch = new TickBatch(LocalDateTime.now(), 1);
+        var state = new TickState();
+        state.setPrice(price);
+        batch.set(0, stockId, state);
+        return LatestPrices.EMPTY.next(batch);
+    }
+}
@@ -0,0 +1,77 @@
+package com.johnsoncskoo.stockx.engine;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.model.Stock;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ShardedTickGeneratorTests {
+
+    private static final int STOCK_COUNT = 2_000;
+    private static final int TICKS = 50;
+
+    @Test
+    void sameSeedGivesSameTicksRegardlessOfShardCount() {
+        var catalog = new StockCatalog(createStocks());
+
+        var single = runTicks(catalog, 1);
+        var sharded = runTicks(catalog, 4);
+
+        assertArrayEquals(single, sharded);
+    }
+
+    private static long[] runTicks(StockCatalog catalog, int shards) {
+        var properties = new StockxProperties();
+        properties.getTick().setShards(shards);
+        properties.getTick().setSeed(1234L);
+
+        var generator = new ShardedTickGenerator(properties);
+        var table = new TickStateTable();
+        var store = new TickStateStore() {
+            @Override
+            public void beginTick(List<Long> stockIds) {
+                table.ensureCapacity(STOCK_COUNT);
+            }
+
+            @Override
+            public boolean load(long stockId, TickState state) {
+                return table.load(stockId, state);
+            }
+
+            @Override
+            public void store(long stockId, TickState state) {
+                table.store(stockId, state);
+            }
+        };
+
+        try {
+            TickBatch batch = null;
+            for (int i = 0; i < TICKS; i++) {
+                batch = generator.generate(catalog, store,
+                        stock -> FixedPoint.toScaled(stock.getBasePrice()), LocalDateTime.now());
+            }
+            return batch.getPrices();
+        } finally {
+            generator.shutdown();
+        }
+    }
+
+    private static List<Stock> createStocks() {
+        var stocks = new ArrayList<Stock>(STOCK_COUNT);
+        for (int i = 1; i <= STOCK_COUNT; i++) {
+            stocks.add(Stock.builder()
+                    .id(i)
+                    .symbol("S" + i)
+                    .name("Stock " + i)
+                    .basePrice(BigDecimal.valueOf(10 + i % 500))
+                    .build());
+        }
+        return stocks;
+    }
+}
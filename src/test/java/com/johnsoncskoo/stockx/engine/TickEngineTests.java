@@ -0,0 +1,83 @@
+package com.johnsoncskoo.stockx.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickEngineTests {
+
+    private static final long BASE_PRICE = FixedPoint.toScaled(100.0);
+
+    @Test
+    void priceStaysWithinBounds() {
+        var random = new SplittableRandom(42);
+        var state = new TickState();
+        state.reset(BASE_PRICE, 0, 0);
+
+        for (int i = 0; i < 1_000_000; i++) {
+            TickEngine.advance(state, BASE_PRICE, random);
+            // a single tick can overshoot the bounds by at most 3%
+            assertTrue(state.getPrice() * 100 >= BASE_PRICE * 20 * 97 / 100, "price fell below 20% of base");
+            assertTrue(state.getPrice() * 100 <= BASE_PRICE * 200 * 103 / 100, "price rose above 200% of base");
+        }
+    }
+
+    @Test
+    void forcedMovementResetsTickCounter() {
+        var state = new TickState();
+        state.reset(BASE_PRICE / 10, 3, 42);
+
+        var change = TickEngine.advance(state, BASE_PRICE, new SplittableRandom(1));
+
+        assertTrue(change > 0);
+        assertEquals(1, state.getTicksElapsed());
+        assertEquals(4, state.getMovementCount());
+    }
+
+    @Test
+    void tickCounterAdvancesOnNormalMovement() {
+        var state = new TickState();
+        state.reset(BASE_PRICE, 0, 5);
+
+        TickEngine.advance(state, BASE_PRICE, new SplittableRandom(7));
+
+        assertEquals(6, state.getTicksElapsed());
+    }
+
+    @Test
+    void sameSeedProducesSameWalk() {
+        var first = new TickState();
+        var second = new TickState();
+        first.reset(BASE_PRICE, 0, 0);
+        second.reset(BASE_PRICE, 0, 0);
+        var firstRandom = new SplittableRandom(99);
+        var secondRandom = new SplittableRandom(99);
+
+        for (int i = 0; i < 10_000; i++) {
+            TickEngine.advance(first, BASE_PRICE, firstRandom);
+            TickEngine.advance(second, BASE_PRICE, secondRandom);
+        }
+
+        assertEquals(first.getPrice(), second.getPrice());
+    }
+
+    @Test
+    void streakReversalFavoursOpposingMovement() {
+        var random = new SplittableRandom(3);
+        var state = new TickState();
+        int ups = 0;
+        int trials = 100_000;
+
+        for (int i = 0; i < trials; i++) {
+            state.reset(BASE_PRICE, -12, 5);
+            if (TickEngine.advance(state, BASE_PRICE, random) >= 0) {
+                ups++;
+            }
+        }
+
+        // after a long downward streak, an upward move should happen ~75% of the time
+        assertEquals(0.75, (double) ups / trials, 0.02);
+    }
+}
@@ -0,0 +1,237 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ConflatingWebSocketSessionTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SessionConflation conflation = conflation(300, Duration.ofSeconds(20));
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+    private final CountDownLatch clientCaughtUp = new CountDownLatch(1);
+    private final CountDownLatch stallReleased = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        stallReleased.countDown();
+        conflation.shutdown();
+    }
+
+    @Test
+    void keepsEveryFrameWithinTheLimit() throws Exception {
+        var session = new ConflatingWebSocketSession(slowClient(), conflation);
+
+        session.sendMessage(frame("/topic/stock/1", "sub-1", "1"));
+        firstSendStarted.await(5, TimeUnit.SECONDS);
+        session.sendMessage(frame("/topic/stock/1", "sub-1", "2"));
+        session.sendMessage(frame("/topic/stock/1", "sub-1", "3"));
+        assertFalse(session.isConflated());
+
+        clientCaughtUp.countDown();
+        awaitSent(3);
+        assertEquals(List.of("1", "2", "3"), bodies());
+    }
+
+    @Test
+    void conflatesToTheLatestValueOnceBehind() throws Exception {
+        var session = new ConflatingWebSocketSession(slowClient(), conflation);
+
+        session.sendMessage(frame("/topic/stock/1", "sub-1", "1"));
+        firstSendStarted.await(5, TimeUnit.SECONDS);
+        for (int i = 2; i <= 20; i++) {
+            session.sendMessage(frame("/topic/stock/1", "sub-1", String.valueOf(i)));
+            session.sendMessage(frame("/topic/stock/2", "sub-2", String.valueOf(-i)));
+        }
+        session.sendMessage(new TextMessage("RECEIPT\nreceipt-id:7\n\n\0"));
+
+        assertTrue(session.isConflated());
+        assertTrue(session.getQueuedBytes() <= 300);
+        assertEquals(1, meterRegistry.get("stockx.websocket.sessions.conflated").gauge().value());
+
+        clientCaughtUp.countDown();
+        awaitSent(4);
+        assertEquals(List.of("1", "20", "-20", ""), bodies());
+        assertEquals(0, meterRegistry.get("stockx.websocket.sessions.conflated").gauge().value());
+        assertTrue(meterRegistry.get("stockx.websocket.frames.conflated").counter().count() > 0);
+    }
+
+    @Test
+    void mergesDeltaFramesStockByStock() throws Exception {
+        var session = new ConflatingWebSocketSession(slowClient(), conflation);
+        var time = LocalDateTime.of(2025, 3, 4, 10, 15, 30);
+        var encoder = new StockUpdateEncoder();
+
+        session.sendMessage(frame("/topic/stock/9", "sub-9", "0"));
+        firstSendStarted.await(5, TimeUnit.SECONDS);
+        long[][] ticks = {{1, 100, 2, 200}, {2, 210, 3, 300}, {1, 110, 3, 310}};
+        for (var tick : ticks) {
+            encoder.reset();
+            encoder.add(tick[0], tick[1], time);
+            encoder.add(tick[2], tick[3], time);
+            session.sendMessage(frame(StockUpdatePublisher.STOCKS_TOPIC, "sub-1",
+                    new String(encoder.array(), StandardCharsets.US_ASCII)));
+        }
+
+        clientCaughtUp.countDown();
+        awaitSent(2);
+
+        encoder.reset();
+        encoder.add(1, 110, time);
+        encoder.add(2, 210, time);
+        encoder.add(3, 310, time);
+        var expected = new String(encoder.array(), StandardCharsets.US_ASCII);
+        assertEquals(expected, bodies().get(1));
+        assertTrue(sent.get(1).contains("content-length:" + expected.length() + "\n"));
+    }
+
+    @Test
+    void stalledSessionsDoNotHoldUpOthers() throws Exception {
+        var sendTimeLimit = Duration.ofSeconds(1);
+        var sweeping = conflation(300, sendTimeLimit);
+        try {
+            var stalled = new ArrayList<WebSocketSession>();
+            for (int i = 0; i < 32; i++) {
+                var session = stalledClient("stalled-" + i);
+                sweeping.open(session).sendMessage(frame("/topic/stock/1", "sub-1", "1"));
+                stalled.add(session);
+            }
+
+            var start = System.nanoTime();
+            sweeping.open(healthyClient()).sendMessage(frame("/topic/stock/1", "sub-1", "ok"));
+            awaitSent(1);
+            assertTrue(System.nanoTime() - start < sendTimeLimit.toNanos());
+            assertEquals(List.of("ok"), bodies());
+
+            for (var session : stalled) {
+                verify(session, timeout(5_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        } finally {
+            sweeping.shutdown();
+        }
+    }
+
+    @Test
+    void closesTheConnectionWhenASendFails() throws Exception {
+        var delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("s1");
+        doThrow(new IOException("broken pipe")).when(delegate).sendMessage(any(WebSocketMessage.class));
+        var session = new ConflatingWebSocketSession(delegate, conflation);
+
+        session.sendMessage(frame("/topic/stock/1", "sub-1", "1"));
+
+        verify(delegate, timeout(5_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        session.sendMessage(frame("/topic/stock/1", "sub-1", "2"));
+        verify(delegate, after(100).times(1)).sendMessage(any(WebSocketMessage.class));
+    }
+
+    @Test
+    void mergesBinaryPriceFrames() {
+        var encoder = new BinaryMarketDataEncoder(ZoneOffset.UTC);
+        var time = LocalDateTime.of(2025, 3, 4, 10, 15, 30);
+        encoder.reset();
+        encoder.add(1, 100, time);
+        encoder.add(2, 200, time);
+        var older = encoder.array();
+        encoder.reset();
+        encoder.add(2, 210, time.plusSeconds(1));
+        var newer = encoder.array();
+
+        var merged = ByteBuffer.wrap(BinaryMarketDataEncoder.mergePrices(older, newer));
+
+        assertEquals(BinaryMarketDataEncoder.PRICES, merged.get());
+        assertEquals(ByteBuffer.wrap(older).getLong(1), merged.getLong());
+        assertEquals(2, merged.getInt());
+        assertEquals(1, merged.getInt());
+        assertEquals(100, merged.getLong());
+        assertEquals(0, merged.getInt());
+        assertEquals(2, merged.getInt());
+        assertEquals(210, merged.getLong());
+        assertEquals(1000, merged.getInt());
+    }
+
+    private SessionConflation conflation(long bufferSizeLimit, Duration sendTimeLimit) {
+        var properties = new StockxProperties();
+        properties.getWebsocket().setSendBufferSizeLimit(DataSize.ofBytes(bufferSizeLimit));
+        properties.getWebsocket().setSendTimeLimit(sendTimeLimit);
+        return new SessionConflation(properties, meterRegistry);
+    }
+
+    // a client that accepts nothing until it catches up
+    private WebSocketSession slowClient() throws Exception {
+        var session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        doAnswer(invocation -> {
+            firstSendStarted.countDown();
+            clientCaughtUp.await(5, TimeUnit.SECONDS);
+            sent.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            return null;
+        }).when(session).sendMessage(any(WebSocketMessage.class));
+        return session;
+    }
+
+    // a client whose connection accepts nothing at all
+    private WebSocketSession stalledClient(String id) throws Exception {
+        var session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        doAnswer(invocation -> {
+            stallReleased.await();
+            return null;
+        }).when(session).sendMessage(any(WebSocketMessage.class));
+        return session;
+    }
+
+    private WebSocketSession healthyClient() throws Exception {
+        var session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("healthy");
+        doAnswer(invocation -> {
+            sent.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            return null;
+        }).when(session).sendMessage(any(WebSocketMessage.class));
+        return session;
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(20);
+        assertEquals(count, sent.size());
+    }
+
+    private List<String> bodies() {
+        return sent.stream()
+                .map(frame -> frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1))
+                .toList();
+    }
+
+    private static TextMessage frame(String destination, String subscription, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\n"
+                + "subscription:" + subscription + "\nmessage-id:m-1\ncontent-length:" + body.length()
+                + "\n\n" + body + "\0");
+    }
+}
@@ -0,0 +1,164 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.dto.StockUpdateDto;
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StockUpdatePublisherTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final SubscriptionRegistry subscriptionRegistry = new SubscriptionRegistry();
+
+    @Test
+    void sendsOnlyChangedPricesToSubscribedDestinations() throws IOException {
+        var publisher = publisher(Duration.ZERO);
+        subscriptionRegistry.subscribe("s1", "sub-1", StockUpdatePublisher.STOCKS_TOPIC);
+        subscriptionRegistry.subscribe("s1", "sub-2", "/topic/stock/2");
+
+        publisher.publish(batch(new long[]{1, 2, 3}, new long[]{100, 200, 300}), 1);
+        publisher.publish(batch(new long[]{1, 2, 3}, new long[]{100, 210, 300}), 2);
+
+        var updates = payloads(StockUpdatePublisher.STOCKS_TOPIC);
+        assertEquals(2, updates.size());
+        assertEquals(3, updates.get(0).size());
+        assertEquals(1, updates.get(1).size());
+        assertEquals(2, updates.get(1).get(0).get("stockId").asLong());
+        assertEquals(0.021, updates.get(1).get(0).get("price").asDouble());
+
+        assertEquals(2, payloads("/topic/stock/2").size());
+        verify(messagingTemplate, never()).send(eq("/topic/stock/1"), any());
+
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, times(2)).send(eq(StockUpdatePublisher.STOCKS_TOPIC), captor.capture());
+        assertEquals("2", NativeMessageHeaderAccessor.getFirstNativeHeader(WireFormat.SEQUENCE_HEADER,
+                captor.getValue().getHeaders()));
+    }
+
+    @Test
+    void skipsEverythingWithoutSubscribers() {
+        var publisher = publisher(Duration.ZERO);
+        subscriptionRegistry.subscribe("s1", "sub-1", StockUpdatePublisher.STOCKS_TOPIC);
+        subscriptionRegistry.disconnect("s1");
+
+        publisher.publish(batch(new long[]{1, 2}, new long[]{100, 200}), 0);
+
+        verify(messagingTemplate, never()).send(anyString(), any());
+    }
+
+    @Test
+    void conflatesUpdatesWithinWindow() throws IOException {
+        var publisher = publisher(Duration.ofHours(1));
+        subscriptionRegistry.subscribe("s1", "sub-1", StockUpdatePublisher.STOCKS_TOPIC);
+
+        // the first tick flushes immediately, later ones wait for the window
+        publisher.publish(batch(new long[]{1}, new long[]{100}), 0);
+        publisher.publish(batch(new long[]{1}, new long[]{110}), 0);
+        publisher.publish(batch(new long[]{1}, new long[]{120}), 0);
+
+        assertEquals(1, payloads(StockUpdatePublisher.STOCKS_TOPIC).size());
+    }
+
+    @Test
+    void binarySubscribersGetFixedSizeRecords() {
+        var publisher = publisher(Duration.ZERO);
+        var accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(StockUpdatePublisher.STOCKS_TOPIC);
+        accessor.setNativeHeader(WireFormat.HEADER, WireFormat.BINARY);
+        subscriptionRegistry.subscribe("s1", "sub-1", WireFormat.resolve(accessor));
+
+        publisher.publish(batch(new long[]{7, 8}, new long[]{1_234_567, 42}), 0);
+
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/topic/binary/stocks"), captor.capture());
+        verify(messagingTemplate, never()).send(eq(StockUpdatePublisher.STOCKS_TOPIC), any());
+        assertEquals(WireFormat.BINARY_CONTENT_TYPE,
+                captor.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE));
+
+        var frame = ByteBuffer.wrap((byte[]) captor.getValue().getPayload());
+        assertEquals(BinaryMarketDataEncoder.HEADER_SIZE + 2 * BinaryMarketDataEncoder.PRICE_RECORD_SIZE,
+                frame.remaining());
+        assertEquals(BinaryMarketDataEncoder.PRICES, frame.get());
+        frame.getLong();
+        assertEquals(2, frame.getInt());
+        assertEquals(7, frame.getInt());
+        assertEquals(1_234_567, frame.getLong());
+        assertEquals(0, frame.getInt());
+        assertEquals(8, frame.getInt());
+        assertEquals(42, frame.getLong());
+    }
+
+    @Test
+    void encoderMatchesJackson() throws IOException {
+        var time = LocalDateTime.of(2025, 3, 4, 10, 15, 30, 120_000_000);
+        var encoder = new StockUpdateEncoder();
+        encoder.reset();
+
+        var expected = new ArrayList<StockUpdateDto>();
+        long[][] updates = {{1, 1_234_567}, {22, 5}, {333, -12_500}, {4, 1_000_000_000_000L}};
+        for (var update : updates) {
+            encoder.add(update[0], update[1], time);
+            expected.add(StockUpdateDto.builder()
+                    .stockId(update[0])
+                    .price(FixedPoint.toBigDecimal(update[1]))
+                    .time(time)
+                    .build());
+        }
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(expected), encoder.array());
+        assertArrayEquals(objectMapper.writeValueAsBytes(expected.get(2)), encoder.element(2));
+    }
+
+    private StockUpdatePublisher publisher(Duration window) {
+        var properties = new StockxProperties();
+        properties.getPublish().setWindow(window);
+        return new StockUpdatePublisher(messagingTemplate, subscriptionRegistry, properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<JsonNode> payloads(String destination) throws IOException {
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, atLeast(0)).send(eq(destination), captor.capture());
+
+        var payloads = new ArrayList<JsonNode>();
+        for (var message : captor.getAllValues()) {
+            payloads.add(objectMapper.readTree((byte[]) message.getPayload()));
+        }
+        return payloads;
+    }
+
+    private static TickBatch batch(long[] stockIds, long[] prices) {
+        var batch = new TickBatch(LocalDateTime.now(), stockIds.length);
+        System.arraycopy(stockIds, 0, batch.getStockIds(), 0, stockIds.length);
+        System.arraycopy(prices, 0, batch.getPrices(), 0, prices.length);
+        return batch;
+    }
+}
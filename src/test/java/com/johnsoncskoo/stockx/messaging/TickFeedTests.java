@@ -0,0 +1,90 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import com.johnsoncskoo.stockx.engine.TickFeedMessage;
+import com.johnsoncskoo.stockx.store.InMemoryKeyValueStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickFeedTests {
+
+    private final InMemoryKeyValueStore store = new InMemoryKeyValueStore();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void followersApplyGeneratorTicksInOrder() throws InterruptedException {
+        var generator = feed(true, "generator");
+        var follower = feed(false, "follower");
+        generator.subscribe();
+        follower.subscribe();
+        assertTrue(generator.isGenerator());
+        assertFalse(follower.isGenerator());
+
+        for (int i = 1; i <= 50; i++) {
+            generator.publish(batch(i));
+        }
+
+        var applied = new ArrayList<Long>();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (applied.size() < 50 && System.nanoTime() < deadline) {
+            follower.drain(batch -> applied.add(batch.getPrices()[0]));
+            Thread.sleep(5);
+        }
+
+        assertEquals(50, applied.size());
+        for (int i = 0; i < applied.size(); i++) {
+            assertEquals(i + 1, applied.get(i));
+        }
+        assertEquals(50, meterRegistry.get("stockx.cluster.feed.lag").tag("node", "follower").timer().count());
+        assertEquals(0, gaps("follower"));
+    }
+
+    @Test
+    void dropsStaleTicksAndCountsGaps() {
+        var follower = feed(false, "follower");
+        var applied = new ArrayList<Long>();
+
+        for (var sequence : List.of(0L, 1L, 1L, 0L, 4L)) {
+            follower.receive(new TickFeedMessage(7, sequence, System.currentTimeMillis(), batch(sequence)));
+        }
+        // a restarted generator starts a new epoch from zero
+        follower.receive(new TickFeedMessage(8, 0, System.currentTimeMillis(), batch(100)));
+        follower.drain(batch -> applied.add(batch.getPrices()[0]));
+
+        assertEquals(List.of(0L, 1L, 4L, 100L), applied);
+        assertEquals(2, gaps("follower"));
+    }
+
+    private TickFeed feed(boolean generator, String nodeId) {
+        var properties = new StockxProperties();
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setGenerator(generator);
+        properties.getCluster().setNodeId(nodeId);
+        return new TickFeed(store, properties, meterRegistry);
+    }
+
+    private double gaps(String nodeId) {
+        return meterRegistry.get("stockx.cluster.feed.gaps").tag("node", nodeId).counter().count();
+    }
+
+    private static TickBatch batch(long price) {
+        var batch = new TickBatch(LocalDateTime.now(), 1);
+        batch.getStockIds()[0] = 1;
+        batch.getPrices()[0] = price;
+        return batch;
+    }
+}
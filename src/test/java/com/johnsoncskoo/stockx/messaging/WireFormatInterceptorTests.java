@@ -0,0 +1,66 @@
+package com.johnsoncskoo.stockx.messaging;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WireFormatInterceptorTests {
+
+    private final WireFormatInterceptor interceptor = new WireFormatInterceptor();
+    private final SessionConflation conflation =
+            new SessionConflation(new StockxProperties(), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        conflation.shutdown();
+    }
+
+    @Test
+    void movesBinarySubscriptionsOfNativeSessions() {
+        var attributes = connect(mock(WebSocketSession.class));
+
+        assertEquals("/topic/binary/stocks", destination(interceptor.preSend(subscribe(attributes), null)));
+    }
+
+    @Test
+    void keepsSockJsSessionsOnJson() {
+        var attributes = connect(mock(SockJsSession.class));
+
+        assertEquals("/topic/stocks", destination(interceptor.preSend(subscribe(attributes), null)));
+    }
+
+    private Map<String, Object> connect(WebSocketSession session) {
+        var attributes = new HashMap<String, Object>();
+        when(session.getId()).thenReturn("s1");
+        when(session.getAttributes()).thenReturn(attributes);
+        conflation.open(session);
+        return attributes;
+    }
+
+    private static Message<byte[]> subscribe(Map<String, Object> attributes) {
+        var accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination("/topic/stocks");
+        accessor.setSubscriptionId("sub-1");
+        accessor.setNativeHeader(WireFormat.HEADER, WireFormat.BINARY);
+        accessor.setSessionAttributes(attributes);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static String destination(Message<?> message) {
+        return StompHeaderAccessor.wrap(message).getDestination();
+    }
+}
@@ -0,0 +1,43 @@
+package com.johnsoncskoo.stockx.model;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class PooledSequenceGeneratorTests {
+
+    @Test
+    void allocationSizeComesFromSettings() {
+        var registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+                .applySetting(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, 20)
+                .build();
+
+        try (var sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(Order.class, Portfolio.class, Position.class, Stock.class,
+                        Transaction.class, User.class)
+                .buildMetadata()
+                .buildSessionFactory()
+                .unwrap(SessionFactoryImplementor.class)) {
+
+            for (var entity : new Class<?>[]{Order.class, Portfolio.class, Position.class, User.class}) {
+                var generator = assertInstanceOf(SequenceStyleGenerator.class,
+                        sessionFactory.getMappingMetamodel().getEntityDescriptor(entity).getGenerator());
+                assertInstanceOf(PooledOptimizer.class, generator.getOptimizer());
+                assertEquals(20, generator.getOptimizer().getIncrementSize());
+            }
+            var orders = (SequenceStyleGenerator) sessionFactory.getMappingMetamodel()
+                    .getEntityDescriptor(Order.class).getGenerator();
+            assertEquals("orders_seq", orders.getDatabaseStructure().getPhysicalName().render());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.johnsoncskoo.stockx.repository;
+
+import com.johnsoncskoo.stockx.engine.FixedPoint;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PriceHistoryCopyEncoderTests {
+
+    private static final int HEADER_LENGTH = 19;
+
+    @Test
+    void encodesRowsInBinaryCopyFormat() {
+        var batch = new TickBatch(LocalDateTime.of(2000, 1, 1, 0, 0, 1), 1);
+        batch.getStockIds()[0] = 7;
+        batch.getPrices()[0] = FixedPoint.toScaled(new BigDecimal("12345.6789"));
+        batch.getVolumes()[0] = 100;
+
+        var encoder = new PriceHistoryCopyEncoder(ZoneOffset.UTC);
+        var length = encoder.encode(batch);
+        var buffer = ByteBuffer.wrap(encoder.buffer(), HEADER_LENGTH, length - HEADER_LENGTH);
+
+        assertEquals(4, buffer.getShort());
+        assertEquals(8, buffer.getInt());
+        assertEquals(7, buffer.getLong());
+        assertEquals(8, buffer.getInt());
+        assertEquals(1_000_000, buffer.getLong());
+
+        // 12345.6789 -> digits [1, 2345, 6789], weight 1, dscale 4
+        assertEquals(8 + 3 * 2, buffer.getInt());
+        assertEquals(3, buffer.getShort());
+        assertEquals(1, buffer.getShort());
+        assertEquals(0, buffer.getShort());
+        assertEquals(4, buffer.getShort());
+        assertEquals(1, buffer.getShort());
+        assertEquals(2345, buffer.getShort());
+        assertEquals(6789, buffer.getShort());
+
+        assertEquals(8, buffer.getInt());
+        assertEquals(100, buffer.getLong());
+        assertEquals(-1, buffer.getShort());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void encodesFractionOnlyAndWholeNumbers() {
+        var batch = new TickBatch(LocalDateTime.of(2000, 1, 1, 0, 0), 2);
+        batch.getPrices()[0] = FixedPoint.toScaled(new BigDecimal("0.5"));
+        batch.getPrices()[1] = FixedPoint.toScaled(new BigDecimal("20000"));
+
+        var encoder = new PriceHistoryCopyEncoder(ZoneOffset.UTC);
+        var length = encoder.encode(batch);
+        var buffer = ByteBuffer.wrap(encoder.buffer(), HEADER_LENGTH, length - HEADER_LENGTH);
+
+        // 0.5 -> digits [5000], weight -1
+        buffer.position(buffer.position() + 2 + 12 + 12);
+        assertEquals(10, buffer.getInt());
+        assertEquals(1, buffer.getShort());
+        assertEquals(-1, buffer.getShort());
+        assertEquals(0, buffer.getShort());
+        assertEquals(4, buffer.getShort());
+        assertEquals(5000, buffer.getShort());
+        buffer.position(buffer.position() + 12);
+
+        // 20000 -> digits [2], weight 1 (trailing zero digit dropped)
+        buffer.position(buffer.position() + 2 + 12 + 12);
+        assertEquals(10, buffer.getInt());
+        assertEquals(1, buffer.getShort());
+        assertEquals(1, buffer.getShort());
+        assertEquals(0, buffer.getShort());
+        assertEquals(4, buffer.getShort());
+        assertEquals(2, buffer.getShort());
+    }
+}
@@ -0,0 +1,51 @@
+package com.johnsoncskoo.stockx.service.impl;
+
+import com.johnsoncskoo.stockx.dto.LedgerEntry;
+import com.johnsoncskoo.stockx.dto.PortfolioAccount;
+import com.johnsoncskoo.stockx.dto.PositionHolding;
+import com.johnsoncskoo.stockx.model.*;
+import com.johnsoncskoo.stockx.repository.LedgerRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LedgerServiceImplTests {
+
+    @Test
+    void rebuildReplaysEntriesAfterTheLatestSnapshot() {
+        var snapshot = PortfolioAccount.builder().portfolioId(1L).balance(1_000).build();
+        snapshot.getPositions().put(7L, PositionHolding.builder().stockId(7L).quantity(2).averageCost(100).build());
+
+        var repository = mock(LedgerRepository.class);
+        when(repository.findLatestSnapshot(1L)).thenReturn(Optional.of(new LedgerRepository.Snapshot(10L, snapshot)));
+        when(repository.findEntriesAfter(1L, 10L)).thenReturn(List.of(
+                LedgerEntry.ofFill(1L, filled(11L, 7L, OrderDirection.BUY, 2, 200)),
+                LedgerEntry.ofFill(1L, filled(12L, 8L, OrderDirection.BUY, 1, 50)),
+                LedgerEntry.ofFill(1L, filled(13L, 8L, OrderDirection.SELL, 1, 60)),
+                LedgerEntry.ofDeposit(1L, 500, LocalDateTime.now())));
+
+        var account = new LedgerServiceImpl(repository, null, null).rebuild(1L);
+
+        assertEquals(1_000 - 400 - 50 + 60 + 500, account.getBalance(), 1e-9);
+        assertEquals(4, account.getPositions().get(7L).getQuantity());
+        assertEquals(150, account.getPositions().get(7L).getAverageCost(), 1e-9);
+        assertFalse(account.getPositions().containsKey(8L));
+    }
+
+    private static Order filled(long id, long stockId, OrderDirection direction, int quantity, double price) {
+        return Order.builder()
+                .id(id)
+                .stock(Stock.builder().id(stockId).build())
+                .direction(direction)
+                .quantity(quantity)
+                .executedPrice(price)
+                .executedAt(LocalDateTime.now())
+                .status(OrderStatus.COMPLETED)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.johnsoncskoo.stockx.service.impl;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.dto.PortfolioAccount;
+import com.johnsoncskoo.stockx.engine.LatestPrices;
+import com.johnsoncskoo.stockx.model.*;
+import com.johnsoncskoo.stockx.repository.SettlementWriter;
+import com.johnsoncskoo.stockx.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SettlementServiceImplTests {
+
+    @Test
+    void failedChunkIsRetriedOneFillAtATime() {
+        var writer = mock(SettlementWriter.class);
+        when(writer.loadAccounts(anyCollection())).thenAnswer(invocation -> accounts());
+        // the chunk write and the retry of order 2 fail; orders 1 and 3 settle on their own
+        var written = new ArrayList<Long>();
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.size() > 1 || orders.get(0).getId() == 2L) {
+                throw new IllegalStateException("write failed");
+            }
+            written.add(orders.get(0).getId());
+            return null;
+        }).when(writer).write(anyList(), anyCollection());
+
+        var transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        var service = new SettlementServiceImpl(writer, new TransactionTemplate(transactionManager),
+                mock(LedgerService.class), new StockxProperties());
+        var orders = List.of(order(1L), order(2L), order(3L));
+
+        var unsettled = service.settle(orders, prices());
+
+        assertEquals(List.of(1L, 3L), written);
+        assertEquals(List.of(orders.get(1)), unsettled);
+        assertEquals(OrderStatus.COMPLETED, orders.get(0).getStatus());
+        assertEquals(100.0, orders.get(0).getExecutedPrice());
+        verify(writer, times(4)).write(anyList(), anyCollection());
+    }
+
+    private static Map<Long, PortfolioAccount> accounts() {
+        var accounts = new HashMap<Long, PortfolioAccount>();
+        accounts.put(1L, PortfolioAccount.builder().portfolioId(1L).balance(10_000).build());
+        return accounts;
+    }
+
+    private static Order order(long id) {
+        var portfolio = Portfolio.builder().id(1L).build();
+        var user = User.builder().id(1L).portfolio(portfolio).build();
+        return Order.builder()
+                .id(id)
+                .user(user)
+                .stock(Stock.builder().id(7).build())
+                .direction(OrderDirection.BUY)
+                .type(OrderType.LIMIT)
+                .status(OrderStatus.PENDING)
+                .limitPrice(100)
+                .quantity(1)
+                .build();
+    }
+
+    private static LatestPrices prices() {
+        var prices = mock(LatestPrices.class);
+        when(prices.findPrice(7L)).thenReturn(Optional.of(BigDecimal.valueOf(100)));
+        return prices;
+    }
+}
@@ -0,0 +1,124 @@
+package com.johnsoncskoo.stockx.service.impl;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.config.TokenCacheConfig;
+import com.johnsoncskoo.stockx.config.TokenSigner;
+import com.johnsoncskoo.stockx.messaging.TokenRevocationRelay;
+import com.johnsoncskoo.stockx.model.User;
+import com.johnsoncskoo.stockx.repository.UserRepository;
+import com.johnsoncskoo.stockx.store.KeyValueStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserServiceImplTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KeyValueStore keyValueStore = mock(KeyValueStore.class);
+    private final UserServiceImpl userService = userService(new StockxProperties());
+
+    @Test
+    void warmCacheValidatesWithoutQueries() {
+        when(userRepository.findByToken("abc")).thenReturn(user("abc", LocalDateTime.now().plusHours(1)));
+
+        assertTrue(userService.isUserValid("abc"));
+        assertEquals("user", userService.validateUserToken("abc").getUsername());
+        assertEquals("user", userService.getUserDto("abc").getUsername());
+
+        verify(userRepository, times(1)).findByToken("abc");
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "tokens").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void invalidatedExpiredAndUnknownTokensAreRejectedFromCache() {
+        var user = user("abc", LocalDateTime.now().plusHours(1));
+        when(userRepository.findByToken("abc")).thenReturn(user);
+        when(userRepository.findByToken("old")).thenReturn(user("old", LocalDateTime.now().minusMinutes(1)));
+
+        assertTrue(userService.isUserValid("abc"));
+        userService.invalidateToken("abc");
+        assertTrue(user.isExpired());
+        verify(userRepository).save(user);
+        assertFalse(userService.isUserValid("abc"));
+        verify(userRepository, times(2)).findByToken("abc");
+
+        assertFalse(userService.isUserValid("old"));
+        assertFalse(userService.isUserValid("missing"));
+        assertFalse(userService.isUserValid("missing"));
+        verify(userRepository, times(1)).findByToken("missing");
+    }
+
+    @Test
+    void signedTokensVerifyWithoutQueries() {
+        var properties = new StockxProperties();
+        properties.getAuth().setMode("signed");
+        properties.getAuth().setTokenSecret("0123456789abcdef0123456789abcdef");
+        var signer = new TokenSigner(properties);
+        var signedService = userService(properties);
+
+        var token = signer.sign(7L, "trader:1", LocalDateTime.now().plusHours(1));
+        var user = signedService.validateUserToken(token);
+        assertEquals(7L, user.getId());
+        assertEquals("trader:1", user.getUsername());
+
+        assertNull(signedService.validateUserToken(token.substring(0, token.length() - 2) + "AA"));
+        assertNull(signedService.validateUserToken(signer.sign(7L, "trader", LocalDateTime.now().minusMinutes(1))));
+        assertNull(signedService.validateUserToken("abc"));
+
+        signedService.invalidateToken(token);
+        assertNull(signedService.validateUserToken(token));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void revocationsAreSharedAcrossTheCluster() {
+        var properties = new StockxProperties();
+        properties.getCluster().setEnabled(true);
+        properties.getAuth().setMode("signed");
+        properties.getAuth().setTokenSecret("0123456789abcdef0123456789abcdef");
+        var signer = new TokenSigner(properties);
+        var token = signer.sign(7L, "trader", LocalDateTime.now().plusHours(1));
+
+        // this node publishes the revocation and another node applies what it receives
+        userService(properties).invalidateToken(token);
+        var published = ArgumentCaptor.forClass(Object.class);
+        verify(keyValueStore).publish(eq("stockx:revocations"), published.capture());
+
+        var otherNode = new TokenRevocationRelay(signer,
+                new TokenCacheConfig().tokenCache(properties, meterRegistry), keyValueStore, properties);
+        otherNode.subscribe();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<Object>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(keyValueStore).subscribe(eq("stockx:revocations"), listener.capture());
+
+        assertNotNull(signer.verify(token));
+        listener.getValue().accept(published.getValue());
+        assertNull(signer.verify(token));
+    }
+
+    @Test
+    void signedModeRequiresSecret() {
+        var properties = new StockxProperties();
+        properties.getAuth().setMode("signed");
+        assertThrows(IllegalStateException.class, () -> new TokenSigner(properties));
+    }
+
+    private UserServiceImpl userService(StockxProperties properties) {
+        var tokenCache = new TokenCacheConfig().tokenCache(properties, meterRegistry);
+        var tokenSigner = new TokenSigner(properties);
+        return new UserServiceImpl(userRepository, null, null, tokenCache, tokenSigner,
+                new TokenRevocationRelay(tokenSigner, tokenCache, keyValueStore, properties));
+    }
+
+    private static User user(String token, LocalDateTime expiresAt) {
+        return User.builder().id(1L).username("user").token(token).expiresAt(expiresAt).build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.johnsoncskoo.stockx.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryKeyValueStoreTests {
+
+    private final InMemoryKeyValueStore store = new InMemoryKeyValueStore();
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void expiredKeysReadAsMissing() {
+        store.setAll(Map.of("a", 1), Duration.ofHours(1));
+        store.setAll(Map.of("b", 2), Duration.ZERO);
+
+        assertEquals(Arrays.asList(1, null, null), store.multiGet(List.of("a", "b", "c")));
+    }
+
+    @Test
+    void deletesKeysMatchingGlob() {
+        store.setAll(Map.of("stock:ticks:1", 1, "stock:ticks:22", 2, "stock:other", 3), Duration.ofHours(1));
+
+        store.deleteMatching("stock:ticks:*");
+
+        assertEquals(Arrays.asList(null, null, 3), store.multiGet(List.of("stock:ticks:1", "stock:ticks:22", "stock:other")));
+    }
+
+    @Test
+    void deliversMessagesInOrder() throws InterruptedException {
+        var received = new CopyOnWriteArrayList<Object>();
+        var done = new CountDownLatch(100);
+        store.subscribe("ticks", message -> {
+            received.add(message);
+            done.countDown();
+        });
+
+        for (int i = 0; i < 100; i++) {
+            store.publish("ticks", i);
+        }
+        store.publish("other", -1);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.johnsoncskoo.stockx.worker;
+
+import com.johnsoncskoo.stockx.config.StockxProperties;
+import com.johnsoncskoo.stockx.engine.TickBatch;
+import com.johnsoncskoo.stockx.repository.StockPriceHistoryBulkWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class PriceHistoryWriteBehindWorkerTests {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void stopWritesBatchesThatWereNotYetDue() throws Exception {
+        var properties = new StockxProperties();
+        properties.getHistory().setFlushInterval(Duration.ofMinutes(1));
+        properties.getHistory().setSpillDirectory(spillDirectory.toString());
+
+        var written = new ArrayList<TickBatch>();
+        var interrupted = new ArrayList<Boolean>();
+        var bulkWriter = mock(StockPriceHistoryBulkWriter.class);
+        doAnswer(invocation -> {
+            List<TickBatch> batches = invocation.getArgument(0);
+            written.addAll(batches);
+            interrupted.add(Thread.currentThread().isInterrupted());
+            return null;
+        }).when(bulkWriter).write(anyList());
+
+        var worker = new PriceHistoryWriteBehindWorker(bulkWriter, properties, new SimpleMeterRegistry());
+        worker.start();
+        var batch = new TickBatch(LocalDateTime.now(), 3);
+        worker.publish(batch);
+        Thread.sleep(50);
+        worker.stop();
+
+        assertEquals(List.of(batch), written);
+        assertEquals(List.of(false), interrupted);
+    }
+}